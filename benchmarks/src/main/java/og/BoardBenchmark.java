@@ -0,0 +1,77 @@
+package og;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//What the search does to a board at every node: play a move and 
+//take it back, list the moves, apply the capture rule, and the
+//game's own capture helpers on its char board. All on 
+//Positions.MIDGAME_4, with a move that captures.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark
+{
+    private char[][] game;
+    private char[][] saved;
+    private NarrowBoard board;
+    private ComputerPlayer player;
+    
+    //(1, 1), which captures (0, 1) for X, and the same move with its
+    //free move on (0, 3) packed in (see Bitboard.move)
+    private Point capture;
+    private int captureMove;
+    
+    @Setup
+    public void setUp()
+    {
+        game = Positions.board(Positions.MIDGAME_4);
+        saved = Positions.board(Positions.MIDGAME_4);
+        board = (NarrowBoard) SearchBoard.create();
+        board.set(game);
+        player = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+        capture = new Point(1, 1);
+        captureMove = Bitboard.move(Bitboard.square(1, 1), Bitboard.square(0, 3));
+    }
+    
+    @Benchmark
+    public long makeUnmake()
+    {
+        board.make(captureMove, Og.PLAYER_1);
+        long hash = board.hash;
+        board.unmake();
+        return hash;
+    }
+    
+    //includes playing each capture to list its free moves and drop
+    //the symmetrical ones
+    @Benchmark
+    public int getActions()
+    {
+        return player.getActions(board, Og.PLAYER_1);
+    }
+    
+    @Benchmark
+    public long bitboardPlay()
+    {
+        return Bitboard.play(board.p1, board.p2, captureMove);
+    }
+    
+    //move, check for and fill the captured spot, then put the 
+    //board back the way it was
+    @Benchmark
+    public boolean gameCaptureHelpers()
+    {
+        game[capture.x][capture.y] = Og.PLAYER_1;
+        boolean caught = Og.spotsHaveJustBeenCaptured(game, capture, Og.PLAYER_1);
+        if (caught) Og.fillCapturedSpots(game, capture, Og.PLAYER_1);
+        
+        for (int i = 0; i < game.length; i++)
+            System.arraycopy(saved[i], 0, game[i], 0, game[i].length);
+        return caught;
+    }
+}
@@ -0,0 +1,40 @@
+package og;
+
+//Fixed positions the benchmarks run on, one string per row
+//('X' and 'O' for the players, '_' for an empty spot). None of 
+//them has a captured spot left unfilled, as in a real game.
+class Positions
+{
+    //4x4, 8 empty spots; X captures (0, 1) by moving on (1, 1)
+    static final String[] MIDGAME_4 = {
+        "X_X_",
+        "__O_",
+        "OX_O",
+        "__X_" };
+    
+    //4x4, the first move of a game
+    static final String[] OPENING_4 = {
+        "____",
+        "____",
+        "____",
+        "____" };
+    
+    //5x5, 17 empty spots
+    static final String[] MIDGAME_5 = {
+        "X_O__",
+        "_OX__",
+        "O_X__",
+        "_X_O_",
+        "__O__" };
+    
+    //a game board (see Og) for rows, sizing the engine to fit it
+    static char[][] board(String[] rows)
+    {
+        if (Og.DIM != rows.length) Og.setSize(rows.length);
+        
+        char[][] b = new char[rows.length][];
+        for (int i = 0; i < rows.length; i++)
+            b[i] = rows[i].toCharArray();
+        return b;
+    }
+}
@@ -0,0 +1,36 @@
+package og;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+//Runs the benchmarks with JMH's usual command line options, but
+//writes the results as JSON to jmh-result.json unless told 
+//otherwise (-rf, -rff), so runs before and after a change can be
+//compared.
+public class RunBenchmarks
+{
+    public static void main(String[] args) throws Exception
+    {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp())
+        {
+            options.showHelp();
+            return;
+        }
+        if (options.shouldList())
+        {
+            new Runner(options).list();
+            return;
+        }
+        
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (!options.getResultFormat().hasValue()) 
+            builder.resultFormat(ResultFormatType.JSON);
+        if (!options.getResult().hasValue()) 
+            builder.result("jmh-result.json");
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,52 @@
+package og;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//Full alpha-beta searches (to the end of the game, on one thread) 
+//from a fixed position: the opening 4x4 board, or a 5x5 middle 
+//game, with each of the searches (see ComputerPlayer.ALGORITHMS).
+//Each search starts from an empty table and a new player, like the
+//first move of a game. (java -jar engine/target/og.jar 
+//--search-report compares their node counts.)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark
+{
+    @Param({ "opening-4x4", "midgame-5x5" })
+    public String position;
+    
+    @Param({ "alphabeta", "pvs", "mtdf" })
+    public String search;
+    
+    private char[][] board;
+    private ComputerPlayer player;
+    
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        board = Positions.board(position.equals("opening-4x4") 
+            ? Positions.OPENING_4 : Positions.MIDGAME_5);
+        ComputerPlayer.setThreads(1);
+        ComputerPlayer.setBudget(0, 0);
+        ComputerPlayer.setAlgorithm(search);
+    }
+    
+    @Setup(Level.Invocation)
+    public void newSearch()
+    {
+        ComputerPlayer.setTableSize(TTable.DEFAULT_MB);
+        player = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+    }
+    
+    @Benchmark
+    public int abMiniMaxDecision()
+    {
+        return player.decide(board, true);
+    }
+}
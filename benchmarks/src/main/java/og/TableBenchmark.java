@@ -0,0 +1,51 @@
+package og;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//Transposition table lookups and stores, over more keys than the
+//CPU caches hold so most of them miss to memory like they do in a
+//real search. Half the keys are in the table to begin with.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableBenchmark
+{
+    private static final int KEYS = 1 << 20;
+    
+    private TTable table;
+    private long[] keys;
+    private int next;
+    
+    @Setup
+    public void setUp()
+    {
+        Og.setSize(4);
+        table = new TTable(TTable.DEFAULT_MB);
+        keys = new long[KEYS];
+        Random r = new Random(1);
+        for (int i = 0; i < KEYS; i++)
+        {
+            keys[i] = r.nextLong();
+            if ((i & 1) == 0) 
+                table.store(keys[i], 0, Og.PLAYER_1, 8, 4, TTable.EXACT, 5);
+        }
+    }
+    
+    @Benchmark
+    public long probe()
+    {
+        return table.probe(keys[next++ & (KEYS - 1)], Og.PLAYER_1);
+    }
+    
+    @Benchmark
+    public void store()
+    {
+        table.store(keys[next++ & (KEYS - 1)], 0, Og.PLAYER_1, 8, 4, TTable.EXACT, 5);
+    }
+}
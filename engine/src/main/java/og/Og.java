@@ -0,0 +1,4901 @@
+/*
+//
+//
+//Og.java by christopher fuentes
+//
+//HUID 60857326
+//
+//cfuentes@fas.harvard.edu
+//
+//
+//
+ * 
+ * 
+ * Og.java sets up a DIM by DIM board and then prompts the user
+ * for their play preferences (human vs human, computer vs computer etc...). 
+ * 
+ * By default, it uses an Alpha Beta Pruning MiniMax search to 
+ * determine the best moves for the computer players.
+ * 
+ * You can turn this off by uncommenting the appropriate line in the
+ * class ComputerPlayer.
+ * 
+ * Several classes are implemented to play the game:
+ * 
+ * Og - the console: reads the options, asks who is playing and prints
+ * 			the game as it goes.
+ * Game - one game: its board, whose turn it is and the rules, calls on
+ * 			Players to return move coordinates.
+ * Player - parent of HumanPlayer and ComputerPlayer
+ * HumanPlayer - prompts the human user for input on each ply
+ * ComputerPlayer - calculates moves using minimax search
+ * MctsPlayer - calculates moves with Monte Carlo Tree Search instead,
+ * 			for boards too big to search
+ * SearchStats - counts what a search did (nodes, table hits, cutoffs,
+ * 			time), also sent to the flight recorder as SearchEvents.
+ * SearchBoard - the board the search plays moves on and takes them back,
+ * 			allocated up front so searching allocates nothing. 
+ * 			NarrowBoard keeps it as one bitboard per player (up to 8x8),
+ * 			WideBoard as two (up to 11x11).
+ * Bitboard - tables used to apply the rules to a bitboard, for the 
+ * 			current board size.
+ * Point - standard geometric point
+ * Zobrist - random keys used to hash a board and its symmetries.
+ * TTable - a fixed-size transposition table which stores explored 
+ * 			boards under a key shared by all of their symmetries. 
+ * 			Used to check if an identical node or node symmetrical to a 
+ * 			node has been explored already and if so get that node's 
+ * 			value (or bound on it) and best move.
+ * SolvedStore - boards solved in earlier runs, memory-mapped from a 
+ * 			file and looked up behind the TTable.
+ * Tablebase - the value of every 4x4 board, solved up front, so the 
+ * 			computer can play 4x4 perfectly without searching.
+ * Tournament - plays many computer vs computer games at once, without
+ * 			printing them, and reports how they went.
+ * Analysis - solves a stream of positions, one a line, on a pool of 
+ * 			workers and writes the answers out in order.
+ * 
+ * Rules:
+ * 
+ * Each player chooses one square to fill on their ply. 
+ * 
+ * A square is "captured" by a player if it is surrounded
+ * 	on all four cardinal sides by either edges of the board
+ *  or filled squares of that same player.
+ *  
+ * Players can not capture squares that have already been filled
+ * 	by either player.
+ * 
+ * If by filling that square a player has captured other squares, 
+ * 	those squares will automatically be filled.
+ * 
+ * Additionally, the player will get another move on that ply. 
+ * 		If more squares are captured they too will be filled, 
+ * 		but the player will end their ply immediately thereafter.
+ * 		(I.E. this is not an infinite loop). 
+ * 		
+ * The game ends when the board is full.
+ * 
+ * The player controlling the most squares at the end wins. 
+ *  
+ * 
+ */
+
+package og;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+public class Og
+{
+    //board dimensions, see setSize
+    public static int DIM = 4;
+    public static final int MIN_DIM = 2;
+    public static final char NO_WINNER = '_';
+    public static final char PLAYER_1 = 'X';
+    public static final char PLAYER_2 = 'O';
+    public static final char TIE = '3';
+
+    //compare the parallel searches instead of playing
+    private static boolean parallelReport = false;
+    
+    //compare the alpha-beta searches instead of playing
+    private static boolean searchReport = false;
+    
+    //the computer's budget for each move, see ComputerPlayer.setBudget
+    private static long moveMillis = 0;
+    private static long moveNodes = 0;
+    
+    //computer players use Monte Carlo Tree Search (see MctsPlayer),
+    //with playouts playouts a move (0 for its default)
+    private static boolean mcts = false;
+    private static long playouts = 0;
+    
+    //where solved boards are kept between runs, see SolvedStore
+    private static Path solvedFile = null;
+    
+    //the transposition table's size in MB (0 for the default), and
+    //the file it is mapped from, see TTable.map
+    private static int tableMegabytes = 0;
+    private static Path tableFile = null;
+    
+    //play this many computer vs computer games (see Tournament)
+    //instead, and how: b's budget is engine B's
+    private static int tournamentGames = 0;
+    private static int workers = Runtime.getRuntime().availableProcessors();
+    private static int randomPlies = 2;
+    private static long seed = 1;
+    private static long bMillis = -1;
+    private static long bNodes = -1;
+    
+    //solve the positions read from analysisFile (or the standard
+    //input if that's null) instead of playing, see Analysis
+    private static boolean analysis = false;
+    private static Path analysisFile = null;
+    
+    //play 4x4 from a tablebase (kept in tablebaseFile, if not null)
+    private static boolean tablebase = false;
+    private static Path tablebaseFile = null;
+    
+    public static void main(String[] args)
+    {
+        parseArgs(args);
+        
+        char[][] board = Game.emptyBoard();
+        //= { {'O', '_', 'O', '_' }, { 'X','_','_','X'},{'_','X','_','O'},{'_','_','_','_'}};
+        
+        if (parallelReport)
+        {
+            ComputerPlayer.reportParallel(board);
+            return;
+        }
+        if (searchReport)
+        {
+            ComputerPlayer.reportSearches(board);
+            return;
+        }
+        if (tournamentGames > 0)
+        {
+            Tournament tournament = null;
+            try {
+                tournament = new Tournament(tournamentGames, workers, randomPlies, seed,
+                    (bMillis < 0) ? moveMillis : bMillis, (bNodes < 0) ? moveNodes : bNodes);
+            } catch (IllegalArgumentException e) {
+                println("Couldn't set up the tournament: " + e.getMessage());
+                System.exit(1);
+            }
+            tournament.run();
+            return;
+        }
+        if (analysis)
+        {
+            try (BufferedReader in = (analysisFile == null) 
+                    ? new BufferedReader(new InputStreamReader(System.in))
+                    : Files.newBufferedReader(analysisFile))
+            {
+                new Analysis(workers).run(in, System.out);
+                ComputerPlayer.saveSolved();
+            } catch (IOException e) {
+                println("Couldn't analyse " + analysisFile + ": " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        println("Welcome to Og!");
+        println("Who is playing?");
+        
+        //determine HVH, CVC, HVC or CVH
+        int choice;
+        String prompt1 = "(Type 1 for Human v Human, 2 for Comp v "
+            + "Comp, 3 for Comp v Human) ";
+        choice = getValidChoice(1, 3, prompt1);
+        
+        switch (choice)
+        {
+            case 1:
+                println("Ok, human 1 is X, human 2 is O");
+                playHVH();
+                break;
+                
+            case 2:
+                println("Ok, comp 1 is X, comp 2 is O");
+                playCVC();
+                break;
+                
+            case 3:
+                String prompt2 = "Who goes first?\n(type 1 for human, "
+                +"2 for computer)";
+                choice = getValidChoice(1, 2, prompt2);
+                
+                switch (choice)
+                {
+                    case 1:
+                        println("Ok, human is X, comp is O");
+                        playHVC();
+                        break;
+                    case 2:
+                        println("Ok, comp is X, human is O");
+                        playCVH();
+                        break;
+                }
+          }
+        
+        try {
+            ComputerPlayer.saveSolved();
+        } catch (IOException e) {
+            println("Couldn't save the solved boards: " + e.getMessage());
+        }
+    }
+    
+    //Play a game on the console: the Game gets each move from a
+    //player (another one after a capture, see Game.play) and the
+    //board is printed after each.
+    public static void play(Player player1, Player player2)
+    {
+        Game game = new Game(player1, player2);
+        printBoard(game.board());
+        
+        while (!game.over())
+        {
+            String name = (game.toMove() == PLAYER_1) ? "Player 1" : "Player 2";
+            println(game.freeMove() ? name + " moves again" : name + "'s Turn");
+            
+            int result = game.step();
+            if (result == Game.CAPTURED)
+                println("Captured a spot!");
+            else if (result == Game.CAPTURED_MORE)
+                println("Captured more spots!");
+            printBoard(game.board());
+        }
+        
+        //declare winner
+        switch (game.winner())
+        {
+            case TIE:
+                println("Nobody won....");
+                break;
+            case PLAYER_1:
+                println("Player 1 wins!");
+                break;
+            case PLAYER_2:
+                println("Player 2 wins!");
+                break;
+        }
+        
+        for (Player p : new Player[] { player1, player2 })
+            if (p instanceof ComputerPlayer)
+                ((ComputerPlayer) p).gameOver();
+    }
+    
+    public static void playHVH()
+    {
+        play(new HumanPlayer(), new HumanPlayer());
+    }
+    
+    public static void playCVC()
+    {
+        play(computer(PLAYER_1, PLAYER_2), computer(PLAYER_2, PLAYER_1));
+    }
+    
+    public static void playHVC()
+    {
+        play(new HumanPlayer(), computer(PLAYER_2, PLAYER_1));
+    }
+    
+    public static void playCVH()
+    {
+        play(computer(PLAYER_1, PLAYER_2), new HumanPlayer());
+    }
+    
+    //a computer player of the kind picked on the command line
+    private static Player computer(char c, char o)
+    {
+        if (mcts) return new MctsPlayer(c, o);
+        return new ComputerPlayer(c, o);
+    }
+    
+    //read the command line options:
+    //  --size=N    play on an N by N board (2 to 11, 4 by default)
+    //  --tt-mb=N   size of the computer's transposition table, in MB
+    //  --tt-file=FILE  keep the table in FILE, mapped into memory (it
+    //              lasts from run to run and processes can share it)
+    //  --threads=N number of threads the computer searches with
+    //  --parallel=root|ybw  split the work by root move only, or 
+    //              inside the tree (Young Brothers Wait)
+    //  --parallel-report    compare the parallel searches on an
+    //              empty board and quit
+    //  --search=alphabeta|pvs|mtdf  the computer's search (see
+    //              ComputerPlayer.ALGORITHMS; mtdf isn't parallel)
+    //  --search-report  compare the searches' nodes on an empty board
+    //              and quit
+    //  --move-ms=N, --move-nodes=N  limit the computer's search for 
+    //              each move to N milliseconds / N nodes
+    //  --search-output=quiet|counts|stats  what to print about each
+    //              of the computer's searches (counts by default)
+    //  --solved=FILE  look up boards solved in earlier runs in FILE,
+    //              and add the ones solved in this one when it's over
+    //  --tablebase[=FILE]  solve every 4x4 board up front and play 
+    //              from that (kept in FILE, if given, for next time)
+    //  --ponder    the computer searches while the human thinks
+    //  --mcts[=root|tree]  the computer uses Monte Carlo Tree Search,
+    //              its threads growing a tree each or sharing one (tree
+    //              by default); --move-ms limits it as well
+    //  --playouts=N  playouts a move for --mcts
+    //  --analyse[=FILE]  solve the positions in FILE (or read from
+    //              the standard input), one a line, and quit (see 
+    //              Analysis; --workers sets how many are solved at once)
+    //  --tournament=N  play N computer vs computer games without
+    //              printing them, and report how they went and quit:
+    //    --workers=N         games played at once (one per core)
+    //    --random-plies=N    random moves starting each game (2)
+    //    --seed=N            for the random moves
+    //    --b-move-ms=N, --b-move-nodes=N  engine B's budget (the
+    //              other engine's, from --move-ms/--move-nodes, if not)
+    public static void parseArgs(String[] args)
+    {
+        for (String arg : args)
+        {
+            try {
+                if (arg.startsWith("--size="))
+                    setSize(Integer.parseInt(arg.substring(7)));
+                else if (arg.startsWith("--tt-mb="))
+                    tableMegabytes = Integer.parseInt(arg.substring(8));
+                else if (arg.startsWith("--tt-file="))
+                    tableFile = Paths.get(arg.substring(10));
+                else if (arg.startsWith("--threads="))
+                {
+                    ComputerPlayer.setThreads(Integer.parseInt(arg.substring(10)));
+                    MctsPlayer.setThreads(Integer.parseInt(arg.substring(10)));
+                }
+                else if (arg.equals("--parallel=root"))
+                    ComputerPlayer.setYoungBrothersWait(false);
+                else if (arg.equals("--parallel=ybw"))
+                    ComputerPlayer.setYoungBrothersWait(true);
+                else if (arg.equals("--parallel-report"))
+                    parallelReport = true;
+                else if (arg.startsWith("--search="))
+                    ComputerPlayer.setAlgorithm(arg.substring(9));
+                else if (arg.equals("--search-report"))
+                    searchReport = true;
+                else if (arg.startsWith("--move-ms="))
+                    moveMillis = Long.parseLong(arg.substring(10));
+                else if (arg.startsWith("--move-nodes="))
+                    moveNodes = Long.parseLong(arg.substring(13));
+                else if (arg.equals("--search-output=quiet"))
+                    ComputerPlayer.setOutput(ComputerPlayer.QUIET_OUTPUT);
+                else if (arg.equals("--search-output=counts"))
+                    ComputerPlayer.setOutput(ComputerPlayer.COUNTS_OUTPUT);
+                else if (arg.equals("--search-output=stats"))
+                    ComputerPlayer.setOutput(ComputerPlayer.STATS_OUTPUT);
+                else if (arg.startsWith("--solved="))
+                    solvedFile = Paths.get(arg.substring(9));
+                else if (arg.equals("--ponder"))
+                    ComputerPlayer.setPondering(true);
+                else if (arg.equals("--mcts") || arg.equals("--mcts=tree"))
+                {
+                    mcts = true;
+                    MctsPlayer.setParallel(MctsPlayer.TREE_PARALLEL);
+                }
+                else if (arg.equals("--mcts=root"))
+                {
+                    mcts = true;
+                    MctsPlayer.setParallel(MctsPlayer.ROOT_PARALLEL);
+                }
+                else if (arg.startsWith("--playouts="))
+                    playouts = Long.parseLong(arg.substring(11));
+                else if (arg.equals("--analyse"))
+                    analysis = true;
+                else if (arg.startsWith("--analyse="))
+                {
+                    analysis = true;
+                    analysisFile = Paths.get(arg.substring(10));
+                }
+                else if (arg.startsWith("--tournament="))
+                    tournamentGames = Integer.parseInt(arg.substring(13));
+                else if (arg.startsWith("--workers="))
+                    workers = Math.max(1, Integer.parseInt(arg.substring(10)));
+                else if (arg.startsWith("--random-plies="))
+                    randomPlies = Integer.parseInt(arg.substring(15));
+                else if (arg.startsWith("--seed="))
+                    seed = Long.parseLong(arg.substring(7));
+                else if (arg.startsWith("--b-move-ms="))
+                    bMillis = Long.parseLong(arg.substring(12));
+                else if (arg.startsWith("--b-move-nodes="))
+                    bNodes = Long.parseLong(arg.substring(15));
+                else if (arg.equals("--tablebase"))
+                    tablebase = true;
+                else if (arg.startsWith("--tablebase="))
+                {
+                    tablebase = true;
+                    tablebaseFile = Paths.get(arg.substring(12));
+                }
+                else
+                    usage("Unknown option " + arg);
+            } catch (NumberFormatException e) {
+                usage("Looking for more of a number in " + arg);
+            } catch (IllegalArgumentException e) {
+                usage(e.getMessage());
+            }
+        }
+        ComputerPlayer.setBudget(moveMillis, moveNodes);
+        MctsPlayer.setBudget(moveMillis, playouts);
+        
+        //after --size, which the files have to match
+        int megabytes = (tableMegabytes > 0) ? tableMegabytes : TTable.DEFAULT_MB;
+        try {
+            if (tableFile != null)
+                ComputerPlayer.setTableFile(tableFile, megabytes);
+            else if (tableMegabytes > 0)
+                ComputerPlayer.setTableSize(megabytes);
+        } catch (IOException e) {
+            usage("Can't map " + tableFile + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+        }
+        if (solvedFile != null)
+        {
+            try {
+                ComputerPlayer.setSolvedFile(solvedFile);
+            } catch (IOException e) {
+                usage("Can't read " + solvedFile + ": " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                usage(e.getMessage());
+            }
+        }
+        if (tablebase)
+        {
+            try {
+                ComputerPlayer.useTablebase(tablebaseFile);
+            } catch (IOException e) {
+                usage("Can't use " + tablebaseFile + ": " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                usage(e.getMessage());
+            }
+        }
+    }
+    
+    private static void usage(String problem)
+    {
+        println(problem);
+        println("Usage: java -jar engine/target/og.jar [--size=N] [--tt-mb=N] [--tt-file=FILE]\n"
+            + "       [--threads=N] [--parallel=root|ybw] [--parallel-report]\n"
+            + "       [--search=alphabeta|pvs|mtdf] [--search-report]\n"
+            + "       [--move-ms=N] [--move-nodes=N] [--search-output=quiet|counts|stats]\n"
+            + "       [--solved=FILE] [--tablebase[=FILE]] [--ponder]\n"
+            + "       [--mcts[=root|tree]] [--playouts=N] [--analyse[=FILE]]\n"
+            + "       [--tournament=N [--workers=N] [--random-plies=N] [--seed=N]\n"
+            + "                       [--b-move-ms=N] [--b-move-nodes=N]]");
+        System.exit(1);
+    }
+    
+    //get a valid choice from human between the range lolim and hilim, inclusive
+    public static int getValidChoice(int loLim, int hiLim, String prompt)
+    {
+        Scanner input = new Scanner(System.in);
+        int choice;
+        do 
+        {
+            print(prompt);
+            try {
+                choice = input.nextInt();
+            } catch (InputMismatchException e) {
+                System.out.println("Looking for more of a number....");
+                input.next();
+                choice = -1;
+            }
+        }
+        while (choice < loLim || choice > hiLim);
+        
+        return choice;
+    }
+    
+    //return number of spots the winner controlls
+    public static int evalWinner(char[][] aBoard, char player)
+    {
+        int pCount = 0;
+        
+        for (int i = 0; i < DIM; i++)
+            for (int j = 0; j < DIM; j++)
+        {
+            if (aBoard[i][j] == player) pCount++;
+        }
+        return pCount;
+    }
+    
+    //if board is full, game is over
+    public static boolean terminalTest(char[][] board)
+    {
+        return evalWinner(board, NO_WINNER) == 0;
+    }
+    
+    //determine who won
+    public static char winner(char[][] aBoard)
+    {
+        if (!terminalTest(aBoard)) return NO_WINNER;
+        
+        int p1Count = evalWinner(aBoard, PLAYER_1);
+        int p2Count = evalWinner(aBoard, PLAYER_2);
+        if (p1Count == p2Count) return TIE;
+        return ((p1Count > p2Count) ? PLAYER_1 : PLAYER_2);
+    }
+    
+    //Play on a dim by dim board from now on: the tables the computer
+    //uses are rebuilt for it and its transposition table emptied. 
+    //Players made before the change are for the old size.
+    public static void setSize(int dim)
+    {
+        if (dim < MIN_DIM || dim > Bitboard.MAX_DIM)
+            throw new IllegalArgumentException("Board size has to be between " 
+                + MIN_DIM + " and " + Bitboard.MAX_DIM);
+        
+        DIM = dim;
+        Bitboard.resize();
+        Zobrist.resize();
+        ComputerPlayer.resize();
+    }
+        
+   //     
+   //Helper methods
+   //
+    
+    //printing methods
+    public static void print(String s)
+    {
+        System.out.print(s);
+    }
+    
+    public static void println(String s)
+    {
+        System.out.println(s);
+    }
+    
+    public static void newLine()
+    {
+        System.out.println();
+    }
+    
+    public static void printBar()
+    {
+        print("__");
+        for (int i = 0; i < DIM; i++)
+            print("___");
+        
+        print("__");
+        newLine();
+    }
+    
+    public static void printBoard(char[][] b)
+    {
+        System.out.println("Here is the current state of the board:");
+        
+        printBar();
+        for (int i = 0; i < DIM; i++)
+        {
+            print("|");
+            for (int j = 0; j < DIM; j++)
+            {
+               print("|" + b[i][j] + "|");
+            }
+            print("|");
+            newLine();
+            printBar();
+        }
+        newLine();
+    }
+    
+    //See if player has just captured spots by moving on move.
+    //Only the spots next to move can have just been surrounded.
+    public static boolean spotsHaveJustBeenCaptured(char[][] b, Point move, char player)
+    {
+        for (int spot : Bitboard.ADJACENT[Bitboard.square(move.x, move.y)])
+            if (spotIsCaptured(spot, b, player))
+                return true;
+              
+        return false;
+    }
+    
+    //check if a single spot is captured: it's empty and every
+    //neighbour is player's (walls don't count as neighbours)
+    private static boolean spotIsCaptured(int spot, char[][] b, char player)
+    {
+        if (b[spot / DIM][spot % DIM] != NO_WINNER) return false;
+        
+        for (int n : Bitboard.ADJACENT[spot])
+            if (b[n / DIM][n % DIM] != player) return false;
+        
+        return true;
+    }
+    
+    //fill the spots player captured by moving on move
+    public static void fillCapturedSpots(char[][] b, Point move, char player)
+    {
+        for (int spot : Bitboard.ADJACENT[Bitboard.square(move.x, move.y)])
+            if (spotIsCaptured(spot, b, player))
+                b[spot / DIM][spot % DIM] = player;
+    }
+        
+}
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////      GAME       /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//One game of Og: the board, whose turn it is and the two players.
+//X moves first. A player who captures spots gets one more move 
+//straight away; if that captures too, the spots are filled but the 
+//turn ends all the same. The game is over when the board is full.
+//
+//A game keeps everything to itself (nothing static), so any number
+//can be played at once, each on its own thread. Og.play shows one
+//on the console; Tournament plays many at once.
+class Game
+{
+    //what a move did (see play)
+    public static final int MOVED = 0;
+    public static final int CAPTURED = 1;
+    public static final int CAPTURED_MORE = 2;
+    
+    private final char[][] board;
+    private final Player player1;
+    private final Player player2;
+    private char toMove;
+    private boolean freeMove;
+    private int moves;
+    
+    public Game(Player player1, Player player2)
+    {
+        this.board = emptyBoard();
+        this.player1 = player1;
+        this.player2 = player2;
+        this.toMove = Og.PLAYER_1;
+        this.freeMove = false;
+        this.moves = 0;
+    }
+    
+    //an Og.DIM by Og.DIM board with nothing on it
+    public static char[][] emptyBoard()
+    {
+        char[][] b = new char[Og.DIM][Og.DIM];
+        for (char[] row : b)
+            Arrays.fill(row, Og.NO_WINNER);
+        return b;
+    }
+    
+    //the board itself (the players are handed it to pick a move)
+    public char[][] board()
+    {
+        return board;
+    }
+    
+    public char toMove()
+    {
+        return toMove;
+    }
+    
+    //is the player to move on the free move a capture earned?
+    public boolean freeMove()
+    {
+        return freeMove;
+    }
+    
+    //moves played so far (free moves included)
+    public int moves()
+    {
+        return moves;
+    }
+    
+    public char winner()
+    {
+        return Og.winner(board);
+    }
+    
+    public boolean over()
+    {
+        return winner() != Og.NO_WINNER;
+    }
+    
+    //Get a move from the player to move and play it. If a computer
+    //plays a human and pondering is on, it searches while the human
+    //thinks.
+    public int step()
+    {
+        Player p = (toMove == Og.PLAYER_1) ? player1 : player2;
+        Player other = (toMove == Og.PLAYER_1) ? player2 : player1;
+        if (!ComputerPlayer.ponders() || p instanceof ComputerPlayer 
+                || !(other instanceof ComputerPlayer))
+            return play(p.move(board, freeMove));
+        
+        ComputerPlayer c = (ComputerPlayer) other;
+        Point move;
+        c.startPondering(board);
+        try {
+            move = p.move(board, freeMove);
+        } finally {
+            c.stopPondering();
+        }
+        return play(move);
+    }
+    
+    //Play move for the player to move. Whatever it captures is filled
+    //in, and returns CAPTURED if that was anything (the same player 
+    //then moves again, unless the board is full), CAPTURED_MORE if it
+    //captured on a free move, otherwise MOVED.
+    public int play(Point move)
+    {
+        if (over() || board[move.x][move.y] != Og.NO_WINNER)
+            throw new IllegalArgumentException("Can't move on " + move.x + ", " + move.y);
+        
+        board[move.x][move.y] = toMove;
+        moves++;
+        boolean captured = Og.spotsHaveJustBeenCaptured(board, move, toMove);
+        if (captured)
+            Og.fillCapturedSpots(board, move, toMove);
+        
+        int result = !captured ? MOVED : freeMove ? CAPTURED_MORE : CAPTURED;
+        if (result == CAPTURED && !over())
+        {
+            freeMove = true;
+            return result;
+        }
+        
+        freeMove = false;
+        toMove = (toMove == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+        return result;
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////      POINT      /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//A standard geometric Point containing int x and int y
+class Point
+{
+    public int x;
+    public int y;
+    
+    public Point(int x, int y)
+    {
+        this.x = x;
+        this.y = y;
+    }
+    
+    //returns "x = #, y = #"
+    public String toString()
+    {
+        return "x = " + this.x + ", y = " + this.y;
+    }
+}
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////      PLAYER     /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//ADT of a player.
+//Given a board, player can return a move. 
+class Player
+{
+    public Point move(char[][] board)
+    {
+        //should be overridden
+        
+        //default return result is invalid
+        return new Point(-1, -1);
+    }
+    
+    //the same, on the free move a capture earned if freeMove (players
+    //that plan where it goes override this)
+    public Point move(char[][] board, boolean freeMove)
+    {
+        return move(board);
+    }
+}
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////   HUMAN PLAYER  /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Human player works by asking a human for the move.
+class HumanPlayer extends Player
+{   
+    public Point move(char[][] board)
+    {
+        
+        int row;
+        int col;
+        
+        do 
+        {
+           row = Og.getValidChoice(0, Og.DIM - 1, "Which row?"); 
+           col = Og.getValidChoice(0, Og.DIM - 1, "Which column?"); 
+        }
+        while (board[row][col] != Og.NO_WINNER);
+        
+        return new Point(row, col);
+    }
+}
+
+	////////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// COMPUTER PLAYER /////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Computer Player uses miniMax to calculate move
+class ComputerPlayer extends Player
+{
+	//"infinity" values (that is, unreachable utility values),
+	//set for the size of the board (see resize)
+	public static int INFINITY = Og.DIM * Og.DIM;
+	public static int NEGATIVE_INFINITY = (-1 * Og.DIM * Og.DIM);
+    
+	//value of a root move that hasn't been searched
+	private static final int NOT_SEARCHED = Integer.MIN_VALUE;
+    
+    // ivars
+    private char playerChar;
+    private char otherPlayer;
+    //what the last search and all of them so far did (see SearchStats),
+    //shared by all the threads searching for this player
+    private SearchStats stats;
+    private SearchStats totals;
+    private static TTable tTable = new TTable(TTable.DEFAULT_MB);
+    
+    private static int tableMegabytes = TTable.DEFAULT_MB;
+    
+    //a table this player searches with instead of the shared one
+    //(see useTable), or null
+    private TTable ownTable;
+    
+    //whether each search starts a new generation in the table (see
+    //ageTable)
+    private boolean agesTable = true;
+    
+    //boards solved in earlier runs, looked up behind the table (see
+    //SolvedStore), and the file they are kept in; null if there is none
+    private static SolvedStore solvedStore;
+    private static Path solvedFile;
+    
+    //every 4x4 board solved up front (see Tablebase), or null
+    private static Tablebase tablebase;
+    
+    //threads used to search in parallel, and their pool
+    private static int threads = 1;
+    private static ForkJoinPool pool;
+    
+    //how the threads share the work: by root move only, or (Young
+    //Brothers Wait) by splitting any node deep enough in the tree
+    //once its eldest child has been searched
+    private static boolean youngBrothersWait = false;
+    private static final int MIN_SPLIT_EMPTIES = 7;
+    
+    //How the min and max alpha-beta pair is used: as it is, with
+    //Principal Variation Search (see maxValue), or driven by MTD(f)
+    //(see mtdfDecision, which only searches on one thread)
+    public static final int ALPHA_BETA = 0;
+    public static final int PVS = 1;
+    public static final int MTDF = 2;
+    public static final String[] ALGORITHMS = { "alphabeta", "pvs", "mtdf" };
+    private static int algorithm = ALPHA_BETA;
+    
+    //Budget for each move, in milliseconds and in nodes (0 for no
+    //limit). With a budget the search deepens one ply at a time and
+    //plays the best move of the deepest search it finished. Without
+    //one it searches straight to the end of the game. Players start
+    //with the budget set for all of them; limit gives one its own.
+    private static long moveMillis = 0;
+    private static long moveNodes = 0;
+    private long budgetMillis;
+    private long budgetNodes;
+    
+    //What gets printed after each move: nothing, how many boards 
+    //were checked, or everything in SearchStats (and a summary of 
+    //the game's searches at the end).
+    public static final int QUIET_OUTPUT = 0;
+    public static final int COUNTS_OUTPUT = 1;
+    public static final int STATS_OUTPUT = 2;
+    private static int output = COUNTS_OUTPUT;
+    
+    //Pondering: while a human thinks, work out the replies to their
+    //moves on a thread of its own (see startPondering). replies maps
+    //the boards their moves lead to (see boardKey) to the spot to 
+    //reply on, its value and how deep the search went.
+    private static boolean pondering = false;
+    private Thread ponderer;
+    private final Map<String, int[]> replies = new HashMap<String, int[]>();
+    
+    //Set when the budget runs out (or pondering is stopped): the 
+    //search in progress unwinds without storing anything and its 
+    //result is thrown away.
+    private volatile boolean stopped;
+    private long deadline;
+    private int checks;
+    private static final int CHECK_NODES = 256;
+    
+    //Set while searching for the free move a capture earned: the root
+    //moves are plain spots then (see getActions). plannedBonus is the
+    //spot the last move meant its free move to go on, or -1.
+    private boolean freeMove;
+    private int plannedBonus = -1;
+    
+    //set when a search is cut short by its depth, so searching
+    //deeper could still change its result
+    private volatile boolean horizonReached;
+    private int completedDepth;
+    
+    //value of the move the last search picked (see lastValue), and
+    //of the one the last iteration picked
+    private int bestValue;
+    private int iterationValue;
+    private int rootDepth;
+    
+    //Move ordering. Killers are the last two moves to cut the search
+    //off at each ply, history[side][spot] how much moving on spot has
+    //cut the search off so far. Threads share both; they are only hints.
+    private static final int TABLE_MOVE_SCORE = 1 << 26;
+    private static final int CAPTURE_SCORE = 1 << 25;
+    private static final int KILLER_SCORE = 1 << 24;
+    private static final int MAX_HISTORY = (1 << 23) - 1;
+    private int[][] killers;
+    private int[][] history;
+    
+    //The board the search plays on, and the values of its root
+    //moves. Both are reused from move to move so searching doesn't
+    //allocate once they have grown to fit (threads searching in 
+    //parallel get their own copy of the board where the search splits).
+    private SearchBoard root;
+    private int[] rootValues;
+    
+    //boards each thread has finished searching on, to be reused 
+    //wherever it next picks up work from a split
+    private final ThreadLocal<ArrayDeque<SearchBoard>> spareBoards = 
+        ThreadLocal.withInitial(ArrayDeque::new);
+    
+    public ComputerPlayer(char c, char o)
+    {
+    	this.stats = new SearchStats();
+        this.totals = new SearchStats();
+        this.killers = new int[Bitboard.SQUARES + 1][2];
+        this.history = new int[2][Bitboard.SQUARES];
+        this.root = SearchBoard.create();
+        this.rootValues = new int[Bitboard.SQUARES];
+        this.otherPlayer = o;
+        this.playerChar = c;
+        this.budgetMillis = moveMillis;
+        this.budgetNodes = moveNodes;
+    }
+    
+    //replace the shared transposition table with an empty one
+    //of the given size
+    public static void setTableSize(int megabytes)
+    {
+        tableMegabytes = megabytes;
+        tTable = new TTable(megabytes);
+    }
+    
+    //replace the shared transposition table with the one of the given
+    //size in file (see TTable.map)
+    public static void setTableFile(Path file, int megabytes) throws IOException
+    {
+        tableMegabytes = megabytes;
+        tTable = TTable.map(megabytes, file);
+    }
+    
+    //the board size changed (see Og.setSize): set the infinities
+    //for it and empty the table. A table or solved file only holds
+    //one size of board, so it is let go of.
+    public static void resize()
+    {
+        INFINITY = Og.DIM * Og.DIM;
+        NEGATIVE_INFINITY = -INFINITY;
+        setTableSize(tableMegabytes);
+        solvedStore = null;
+        solvedFile = null;
+        tablebase = null;
+    }
+    
+    //Play 4x4 from the tablebase instead of searching: map it from
+    //file if there is one, otherwise solve it (and write it to file,
+    //if given). The progress goes to stderr, so it doesn't get mixed
+    //up with --analyse's output.
+    public static void useTablebase(Path file) throws IOException
+    {
+        Tablebase.checkSize();
+        if (file != null && Files.exists(file))
+        {
+            tablebase = Tablebase.open(file);
+            return;
+        }
+        
+        System.err.println("Solving every " + Og.DIM + "x" + Og.DIM + " board...");
+        long start = System.nanoTime();
+        tablebase = Tablebase.generate(Runtime.getRuntime().availableProcessors());
+        System.err.println("Solved in " + (System.nanoTime() - start) / 1000000 + " ms");
+        if (file != null) tablebase.write(file);
+    }
+    
+    //Keep solved boards in file from run to run: map the boards it
+    //already has (if it exists) and look them up whenever the table
+    //doesn't have a board. saveSolved adds the table's to it.
+    public static void setSolvedFile(Path file) throws IOException
+    {
+        solvedStore = SolvedStore.open(file);
+        solvedFile = file;
+    }
+    
+    //add the boards solved so far to the solved file, if there is one
+    public static void saveSolved() throws IOException
+    {
+        if (solvedFile == null) return;
+        SolvedStore.write(solvedFile, solvedStore, tTable);
+        solvedStore = SolvedStore.open(solvedFile);
+    }
+    
+    //search with n threads (1 searches on the calling thread)
+    public static void setThreads(int n)
+    {
+        if (pool != null) pool.shutdown();
+        threads = Math.max(1, n);
+        pool = (threads > 1) ? new ForkJoinPool(threads) : null;
+    }
+    
+    //one of ALPHA_BETA, PVS or MTDF, by its name in ALGORITHMS
+    public static void setAlgorithm(String name)
+    {
+        int a = Arrays.asList(ALGORITHMS).indexOf(name);
+        if (a < 0)
+            throw new IllegalArgumentException("No search called " + name);
+        algorithm = a;
+    }
+    
+    //split nodes inside the tree instead of just at the root
+    public static void setYoungBrothersWait(boolean ybw)
+    {
+        youngBrothersWait = ybw;
+    }
+    
+    //limit each move to millis milliseconds and nodes nodes (0 for
+    //no limit)
+    public static void setBudget(long millis, long nodes)
+    {
+        moveMillis = millis;
+        moveNodes = nodes;
+    }
+    
+    public static long budgetMillis()
+    {
+        return moveMillis;
+    }
+    
+    public static int tableMegabytes()
+    {
+        return tableMegabytes;
+    }
+    
+    public static long budgetNodes()
+    {
+        return moveNodes;
+    }
+    
+    //Search with table instead of the table all players share (null
+    //for the shared one again), so what this player stores can't
+    //help or get in the way of anyone else.
+    public ComputerPlayer useTable(TTable table)
+    {
+        ownTable = table;
+        return this;
+    }
+    
+    //Whether this player's searches each start a new generation in
+    //the table. Players searching side by side on the shared table
+    //would age each other's entries out, so their owner turns it off
+    //and starts generations itself (see newTableGeneration).
+    public ComputerPlayer ageTable(boolean age)
+    {
+        agesTable = age;
+        return this;
+    }
+    
+    //a new generation in the shared table, see TTable.newSearch
+    public static void newTableGeneration()
+    {
+        tTable.newSearch();
+    }
+    
+    //the table this player searches with
+    private TTable table()
+    {
+        return (ownTable != null) ? ownTable : tTable;
+    }
+    
+    //the same for this player only
+    public ComputerPlayer limit(long millis, long nodes)
+    {
+        budgetMillis = millis;
+        budgetNodes = nodes;
+        return this;
+    }
+    
+    //one of QUIET_OUTPUT, COUNTS_OUTPUT or STATS_OUTPUT
+    public static void setOutput(int o)
+    {
+        output = o;
+    }
+    
+    public static int output()
+    {
+        return output;
+    }
+    
+    //search while the human opponent thinks (see Game.step)
+    public static void setPondering(boolean p)
+    {
+        pondering = p;
+    }
+    
+    public static boolean ponders()
+    {
+        return pondering;
+    }
+    
+    //Start working out, on a thread of its own, the reply to each
+    //move the other player could make on board, the likeliest first,
+    //until stopPondering. When they have moved, the reply is ready if
+    //pondering got to their move, and the table already knows a lot 
+    //about the board if not. Nothing else may use this player until
+    //pondering stops.
+    public void startPondering(char[][] board)
+    {
+        char[][] copy = new char[board.length][];
+        for (int i = 0; i < board.length; i++)
+            copy[i] = board[i].clone();
+        
+        replies.clear();
+        stopped = false;
+        ponderer = new Thread(() -> ponder(copy), "ponder " + this.playerChar);
+        ponderer.setDaemon(true);
+        ponderer.start();
+    }
+    
+    //stop pondering (and wait until it has)
+    public void stopPondering()
+    {
+        if (ponderer == null) return;
+        
+        stopped = true;
+        try {
+            ponderer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ponderer = null;
+    }
+    
+    //Search the reply to each of the other player's moves on board,
+    //as move would, in the order the search would try their moves.
+    //Moves that capture are left out: they move again after those.
+    //The whole session is one search as far as the table and history
+    //go, so the replies don't age each other's entries out.
+    private void ponder(char[][] board)
+    {
+        newSearch();
+        freeMove = false;
+        root.set(board);
+        int n = 0;
+        int[] moves = root.moves[0];
+        for (int square = root.nextEmpty(0); square >= 0; square = root.nextEmpty(square + 1))
+            moves[n++] = square;
+        rootDepth = n;
+        orderActions(root, n, this.otherPlayer, n, probe(root, this.otherPlayer));
+        int[] likeliest = Arrays.copyOf(moves, n);
+        
+        for (int square : likeliest)
+        {
+            Point p = Bitboard.pointFor(square);
+            char[][] after = new char[board.length][];
+            for (int i = 0; i < board.length; i++)
+                after[i] = board[i].clone();
+            after[p.x][p.y] = this.otherPlayer;
+            if (Og.spotsHaveJustBeenCaptured(after, p, this.otherPlayer) || Og.terminalTest(after))
+                continue;
+            
+            int reply = deepen(after, true);
+            if (stopped) return;
+            replies.put(boardKey(after), new int[] { reply, bestValue, completedDepth });
+        }
+    }
+    
+    //the board as one string
+    private static String boardKey(char[][] board)
+    {
+        StringBuilder s = new StringBuilder();
+        for (char[] row : board)
+            s.append(row);
+        return s.toString();
+    }
+    
+    //On the free move after a capture, play where the search that
+    //picked the capture meant it to go. If there is no such plan (the
+    //capture wasn't this player's idea) search it, as a plain spot.
+    public Point move(char[][] board, boolean freeMove)
+    {
+        int bonus = plannedBonus;
+        plannedBonus = -1;
+        if (freeMove && bonus >= 0)
+        {
+            Point p = Bitboard.pointFor(bonus);
+            if (board[p.x][p.y] == Og.NO_WINNER) return p;
+        }
+    
+        this.freeMove = freeMove;
+        try {
+            return move(board);
+        } finally {
+            this.freeMove = false;
+        }
+    }
+    
+    public Point move(char[][] board)
+    {
+    	boolean alphaBeta = true;
+    
+    	/* ********************************************************** *
+    	 * Uncomment the following line to turn OFF AlphaBeta Pruning *
+    	 * ********************************************************** */
+    
+    	//alphaBeta = false;
+    
+        int move = decide(board, alphaBeta);
+    
+        if (output == STATS_OUTPUT)
+            Og.println(stats.toString());
+        else if (output == COUNTS_OUTPUT)
+        {
+            if (budgetMillis > 0 || budgetNodes > 0)
+                Og.println("Searched " + completedDepth + " moves ahead");
+            Og.println("Checked " + stats.nodes() + " states");
+            Og.println("Checked " + stats.expanded() + " unique states");
+        }
+        plannedBonus = Bitboard.bonus(move);
+        return Bitboard.pointFor(Bitboard.spot(move));
+    }
+    
+    //the game is over: with STATS_OUTPUT, sum up this player's searches
+    public void gameOver()
+    {
+        if (output == STATS_OUTPUT)
+            Og.println("Player " + this.playerChar + " over the game: " + totals);
+    }
+    
+    //what this player's last search did (only settled once it's done)
+    public SearchStats lastSearch()
+    {
+        return stats;
+    }
+    
+    //How many spots the last search expects this player to end up
+    //with after its move (an estimate, if it didn't see to the end)
+    public int lastValue()
+    {
+        return bestValue;
+    }
+    
+    //what all of this player's searches did together
+    public SearchStats allSearches()
+    {
+        return totals;
+    }
+    
+    //Pick a move (see Bitboard.move) with whichever search is set
+    //up. With a budget, deepen one move at a time until the budget
+    //runs out or a search no longer stops short of the end of the
+    //game anywhere.
+    int decide(char[][] board, boolean alphaBeta)
+    {
+        SearchEvent event = FlightRecorder.isInitialized() ? new SearchEvent() : null;
+        if (event != null) event.begin();
+        long start = System.nanoTime();
+        stats.reset();
+        
+        int square;
+        int[] reply = replies.get(boardKey(board));
+        if (reply != null)
+        {
+            square = reply[0];
+            bestValue = reply[1];
+            completedDepth = reply[2];
+        }
+        else
+        {
+            this.stopped = false;
+            newSearch();
+            square = deepen(board, alphaBeta);
+        }
+        replies.clear();
+        
+        stats.searched(System.nanoTime() - start, completedDepth);
+        totals.add(stats);
+        if (event != null)
+            event.end();
+        if (event != null && event.shouldCommit())
+        {
+            event.player = this.playerChar;
+            event.depth = completedDepth;
+            event.nodes = stats.nodes();
+            event.expanded = stats.expanded();
+            event.probes = stats.probes();
+            event.hits = stats.hits();
+            event.stores = stats.stores();
+            event.cutoffs = stats.cutoffs();
+            event.firstMoveCutoffs = stats.firstMoveCutoffs();
+            event.commit();
+        }
+        return square;
+    }
+    
+    //start a new generation in the table (see ageTable), and age
+    //the history
+    private void newSearch()
+    {
+        if (agesTable) table().newSearch();
+    
+        //old history counts for less as the game moves on
+        for (int[] side : history)
+            for (int i = 0; i < side.length; i++)
+                side[i] /= 2;
+    }
+    
+    private int deepen(char[][] board, boolean alphaBeta)
+    {
+        this.checks = 0;
+        root.set(board);
+        int empties = root.empties();
+        if (tablebase != null)
+        {
+            NarrowBoard b = (NarrowBoard) root;
+            completedDepth = empties;
+            int move = tablebase.bestMove(b.p1, b.p2, this.playerChar, freeMove);
+            bestValue = tablebase.valueAfter(b.p1, b.p2, this.playerChar, move);
+            return move;
+        }
+        if (budgetMillis <= 0 && budgetNodes <= 0)
+        {
+            completedDepth = empties;
+            int move = decide(alphaBeta, empties);
+            bestValue = iterationValue;
+            return move;
+        }
+    
+        deadline = System.nanoTime() + budgetMillis * 1000000;
+        completedDepth = 0;
+        int best = TTable.NO_MOVE;
+        for (int depth = 1; depth <= empties; depth++)
+        {
+            horizonReached = false;
+            int move = decide(alphaBeta, depth);
+    
+            //the first iteration always finishes (see outOfBudget)
+            if (stopped) break;
+            best = move;
+            bestValue = iterationValue;
+            completedDepth = depth;
+            if (!horizonReached) break;
+        }
+        return best;
+    }
+    
+    //Pick a move on the root board, looking depth moves ahead. Its
+    //value is stored for the board so the next iteration tries it first.
+    private int decide(boolean alphaBeta, int depth)
+    {
+        rootDepth = depth;
+        stats.visit(0);
+        int best;
+        if (alphaBeta && algorithm == MTDF)
+            best = mtdfDecision(depth);
+        else if (alphaBeta && threads > 1 && youngBrothersWait)
+        	best = pool.invoke(ForkJoinTask.adapt(() -> ybwMiniMaxDecision(depth)));
+        else if (alphaBeta && threads > 1)
+        	best = parallelAbMiniMaxDecision(depth);
+        else if (alphaBeta)
+        	best = abMiniMaxDecision(depth);
+        else
+        	best = miniMaxDecision(depth);
+    
+        int move = root.moves[0][best];
+        iterationValue = rootValues[best];
+        //on a free move the root isn't the board the table knows (its
+        //moves don't earn one)
+        if (!freeMove)
+            store(root, this.playerChar, depth, iterationValue,
+                NEGATIVE_INFINITY, INFINITY, move);
+        return move;
+    }
+    
+    //Has the budget run out? Every node the search visits (leaves
+    //too) asks, but the clock and node count are only looked at every
+    //CHECK_NODES of them, and never before the first iteration is
+    //done. Once stopped, what the search returns is thrown away.
+    private boolean outOfBudget()
+    {
+        if (stopped) return true;
+        if (completedDepth == 0 || (++checks & (CHECK_NODES - 1)) != 0) return false;
+    
+        if ((budgetMillis > 0 && System.nanoTime() > deadline)
+                || (budgetNodes > 0 && stats.nodes() > budgetNodes))
+            stopped = true;
+        return stopped;
+    }
+    
+    //Search board serially, then with each parallel strategy, all
+    //from an empty table, and print how they compare. Speedup is the
+    //serial time over the parallel time; search overhead is how many
+    //more nodes the parallel search needed than the serial one.
+    public static void reportParallel(char[][] board)
+    {
+        int n = threads;
+        boolean ybw = youngBrothersWait;
+        String[] names = { "serial", "root split", "young brothers wait" };
+        long serialTime = 0;
+        long serialNodes = 0;
+    
+        Og.println("Searching the opening position of a " + Og.DIM + "x" + Og.DIM
+            + " board with " + n + " threads");
+        for (int i = 0; i < names.length; i++)
+        {
+            setThreads((i == 0) ? 1 : n);
+            youngBrothersWait = (i == 2);
+            setTableSize(tableMegabytes);
+    
+            ComputerPlayer c = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+            long start = System.nanoTime();
+            c.decide(board, true);
+            long time = System.nanoTime() - start;
+            long nodes = c.stats.nodes();
+            if (i == 0)
+            {
+                serialTime = time;
+                serialNodes = nodes;
+            }
+    
+            Og.println(String.format("%-20s %8d ms %12d nodes   speedup %5.2f   overhead %+6.1f%%",
+                names[i], time / 1000000, nodes, (double) serialTime / time,
+                100.0 * (nodes - serialNodes) / serialNodes));
+        }
+    
+        setThreads(n);
+        youngBrothersWait = ybw;
+    }
+    
+    //Search board with each of the algorithms on one thread, all from
+    //an empty table, and print how many nodes each needed compared
+    //to the min and max pair (ALPHA_BETA), and how long it took.
+    public static void reportSearches(char[][] board)
+    {
+        int n = threads;
+        int a = algorithm;
+        long baseNodes = 0;
+        setThreads(1);
+    
+        Og.println("Searching the opening position of a " + Og.DIM + "x" + Og.DIM
+            + " board with each algorithm");
+        for (int i = 0; i < ALGORITHMS.length; i++)
+        {
+            algorithm = i;
+            setTableSize(tableMegabytes);
+    
+            ComputerPlayer c = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+            long start = System.nanoTime();
+            int move = c.decide(board, true);
+            long time = System.nanoTime() - start;
+            long nodes = c.stats.nodes();
+            if (i == 0) baseNodes = nodes;
+    
+            Og.println(String.format("%-10s %8d ms %12d nodes (%5.1f%%)   value %3d   move %s",
+                ALGORITHMS[i], time / 1000000, nodes, 100.0 * nodes / baseNodes,
+                c.bestValue, Bitboard.toString(move)));
+        }
+    
+        setThreads(n);
+        algorithm = a;
+    }
+    
+    
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////// NORMAL MINIMAX DECISION ////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    
+    //Decisions search the root board, leave each root move's value in
+    //rootValues and return the index of the best one in root.moves[0].
+    private int miniMaxDecision(int depth)
+    {
+        SearchBoard b = this.root;
+        int n = getRootActions(b);
+        int[] moves = b.moves[b.ply];
+        for (int i = 0; i < n; i++)
+        {
+            stats.visit(1);
+            b.make(moves[i], this.playerChar);
+            rootValues[i] = minValue(b, depth - 1);
+            b.unmake();
+        }
+        return getMax(moves, rootValues, n);
+    }
+    
+    public int minValue(SearchBoard b, int depth)
+    {
+    	//Og.println("in Min");
+        if (outOfBudget())
+            return evaluate(b);
+        if (b.terminalTest())
+            return utility(b);
+        if (depth == 0)
+            return evaluate(b);
+        int match;
+        if ((match = tableValue(probe(b, this.otherPlayer), b, this.otherPlayer, depth, 
+                NEGATIVE_INFINITY, INFINITY)) != TTable.NOT_FOUND)
+            return match;
+    
+        stats.expand();
+        int val = INFINITY;
+        int best = TTable.NO_MOVE;
+        int n = getActions(b, this.otherPlayer);
+        int[] moves = b.moves[b.ply];
+        int ply = plyFor(depth - 1);
+        for (int i = 0; i < n; i++)
+        {
+            stats.visit(ply);
+            b.make(moves[i], this.otherPlayer);
+            int v = maxValue(b, depth - 1);
+            b.unmake();
+            if (v < val)
+            {
+                val = v;
+                best = moves[i];
+            }
+        }
+        store(b, this.otherPlayer, depth, val, NEGATIVE_INFINITY, INFINITY, best);
+        return val;
+    }
+    
+    public int maxValue(SearchBoard b, int depth)
+    {
+    	//Og.println("in Max");
+        if (outOfBudget())
+            return evaluate(b);
+        if (b.terminalTest())
+            return utility(b);
+        if (depth == 0)
+            return evaluate(b);
+        int match;
+        if ((match = tableValue(probe(b, this.playerChar), b, this.playerChar, depth, 
+                NEGATIVE_INFINITY, INFINITY)) != TTable.NOT_FOUND)
+            return match;
+    
+        stats.expand();
+        int val = NEGATIVE_INFINITY;
+        int best = TTable.NO_MOVE;
+        int n = getActions(b, this.playerChar);
+        int[] moves = b.moves[b.ply];
+        int ply = plyFor(depth - 1);
+        for (int i = 0; i < n; i++)
+        {
+            stats.visit(ply);
+            b.make(moves[i], this.playerChar);
+            int v = minValue(b, depth - 1);
+            b.unmake();
+            if (v > val)
+            {
+                val = v;
+                best = moves[i];
+            }
+        }
+        store(b, this.playerChar, depth, val, NEGATIVE_INFINITY, INFINITY, best);
+        return val;
+    }
+    
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    //////////////////////////////////// END NORMAL MINIMAX ////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    
+    
+    
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////// Alpha Beta MINIMAX DECISION /////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    private int abMiniMaxDecision(int depth)
+    {
+        SearchBoard b = this.root;
+        int alpha = NEGATIVE_INFINITY;
+        int beta =  INFINITY;
+        int n = getRootActions(b);
+        orderActions(b, n, this.playerChar, depth, probe(b, this.playerChar));
+        int[] moves = b.moves[b.ply];
+        for (int i = 0; i < n; i++)
+        {
+        	stats.visit(1);
+        	b.make(moves[i], this.playerChar);
+            //one below alpha, so a move tying the best comes back exact
+            if (i == 0 || algorithm != PVS)
+                rootValues[i] = minValue(b, depth - 1, alpha - 1, beta);
+            else
+            {
+                //only a move that ties the best or beats it needs to be
+                //searched again for its exact value
+                rootValues[i] = minValue(b, depth - 1, alpha - 1, alpha);
+                if (rootValues[i] >= alpha)
+                    rootValues[i] = minValue(b, depth - 1, alpha - 1, beta);
+            }
+            b.unmake();
+            alpha = Math.max(alpha, rootValues[i]);
+        }
+        return getMax(moves, rootValues, n);
+    }
+    
+    //Same decision as abMiniMaxDecision, with the root moves spread
+    //over the pool, each on its own copy of the board. Each worker
+    //starts from the best value found so far by any of them. As in the
+    //serial search the window is opened one below it so a move that
+    //ties the best comes back exact, and getMax breaks the tie the same
+    //way whatever order the moves finished in.
+    private int parallelAbMiniMaxDecision(int depth)
+    {
+        SearchBoard b = this.root;
+        AtomicInteger alpha = new AtomicInteger(NEGATIVE_INFINITY);
+        int n = getRootActions(b);
+        orderActions(b, n, this.playerChar, depth, probe(b, this.playerChar));
+        int[] moves = b.moves[b.ply];
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < n; i++)
+        {
+            int index = i;
+            int move = moves[i];
+            tasks.add(() -> {
+                stats.visit(1);
+                SearchBoard next = borrowBoard(b);
+                next.make(move, this.playerChar);
+                rootValues[index] = minValue(next, depth - 1, alpha.get() - 1, INFINITY);
+                alpha.accumulateAndGet(rootValues[index], Math::max);
+                returnBoard(next);
+                return null;
+            });
+        }
+    
+        for (Future<Void> f : pool.invokeAll(tasks))
+        {
+            try {
+                f.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("Root search failed", e);
+            }
+        }
+        return getMax(moves, rootValues, n);
+    }
+    
+    //Young Brothers Wait: the eldest root move is searched on its own,
+    //then its brothers in parallel (with the same one-below window as
+    //parallelAbMiniMaxDecision). Nodes further down split the same way
+    //(see searchBrothers). Has to run in the pool.
+    private int ybwMiniMaxDecision(int depth)
+    {
+        SearchBoard b = this.root;
+        int n = getRootActions(b);
+        orderActions(b, n, this.playerChar, depth, probe(b, this.playerChar));
+        int[] moves = b.moves[b.ply];
+        stats.visit(1);
+        b.make(moves[0], this.playerChar);
+        rootValues[0] = minValue(b, depth - 1, NEGATIVE_INFINITY, INFINITY);
+        b.unmake();
+    
+        //beta can't be reached, so no root move is ever skipped
+        int[] values = searchBrothers(b, n, this.playerChar, depth - 1,
+            new AtomicInteger(rootValues[0]), new AtomicInteger(INFINITY + 1), true);
+        System.arraycopy(values, 1, rootValues, 1, n - 1);
+        return getMax(moves, rootValues, n);
+    }
+    
+    //a board set to b for this thread to search on
+    private SearchBoard borrowBoard(SearchBoard b)
+    {
+        SearchBoard next = spareBoards.get().poll();
+        if (next == null) next = SearchBoard.create();
+        next.set(b);
+        return next;
+    }
+    
+    private void returnBoard(SearchBoard b)
+    {
+        spareBoards.get().push(b);
+    }
+    
+    //should a node split its brothers over the pool?
+    private boolean shouldSplit(SearchBoard b, int brothers)
+    {
+        return youngBrothersWait && brothers > 0
+            && b.empties() >= MIN_SPLIT_EMPTIES
+            && ForkJoinTask.inForkJoinPool();
+    }
+    
+    //Search the younger brothers of a node (moves 1 to n - 1 of b's
+    //current ply) in parallel once the eldest is done, each on its own
+    //copy of b, and return their values by index. Each starts from the
+    //window as it stands when it starts, and brothers that haven't
+    //started are skipped (their value left NOT_SEARCHED) once one of
+    //them cuts the node off. tiesExact opens the window one below
+    //alpha, so a brother tying the best comes back exact.
+    private int[] searchBrothers(SearchBoard b, int n, char toMove, int depth,
+            AtomicInteger alpha, AtomicInteger beta, boolean tiesExact)
+    {
+        boolean max = (toMove == this.playerChar);
+        int[] moves = b.moves[b.ply];
+        int[] values = new int[n];
+        Arrays.fill(values, NOT_SEARCHED);
+        AtomicBoolean cutoff = new AtomicBoolean(false);
+        List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+        for (int i = 1; i < n; i++)
+        {
+            int index = i;
+            int move = moves[i];
+            tasks.add(new RecursiveAction() {
+                protected void compute()
+                {
+                    if (cutoff.get()) return;
+    
+                    stats.visit(plyFor(depth));
+                    //b doesn't change while its brothers are searched
+                    SearchBoard next = borrowBoard(b);
+                    next.make(move, toMove);
+                    if (max)
+                    {
+                        values[index] = minValue(next, depth,
+                            alpha.get() - (tiesExact ? 1 : 0), beta.get());
+                        if (alpha.accumulateAndGet(values[index], Math::max) >= beta.get())
+                            cutoff.set(true);
+                    }
+                    else
+                    {
+                        values[index] = maxValue(next, depth, alpha.get(), beta.get());
+                        if (beta.accumulateAndGet(values[index], Math::min) <= alpha.get())
+                            cutoff.set(true);
+                    }
+                    returnBoard(next);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return values;
+    }
+    
+    public int minValue(SearchBoard b, int depth, int alpha, int beta)
+    {
+        if (outOfBudget())
+            return evaluate(b);
+        if (b.terminalTest())
+            return utility(b);
+        if (depth == 0)
+            return evaluate(b);
+        int match;
+        long entry = probe(b, this.otherPlayer);
+        if ((match = tableValue(entry, b, this.otherPlayer, depth, alpha, beta)) 
+                != TTable.NOT_FOUND)
+            return match;
+    
+        stats.expand();
+        int betaOrig = beta;
+        int val = INFINITY;
+        int best = TTable.NO_MOVE;
+        int n = getActions(b, this.otherPlayer);
+        orderActions(b, n, this.otherPlayer, depth, entry);
+        int[] moves = b.moves[b.ply];
+        int ply = plyFor(depth - 1);
+        for (int i = 0; i < n; i++)
+        {
+        	stats.visit(ply);
+        	b.make(moves[i], this.otherPlayer);
+            int v;
+            if (i == 0 || algorithm != PVS)
+                v = maxValue(b, depth - 1, alpha, beta);
+            else
+            {
+                //see maxValue
+                v = maxValue(b, depth - 1, beta - 1, beta);
+                if (v > alpha && v < beta)
+                    v = maxValue(b, depth - 1, alpha, beta);
+            }
+            b.unmake();
+            if (v < val)
+            {
+                val = v;
+                best = moves[i];
+            }
+            if (val <= alpha)
+            {
+                stats.cutoff(i == 0);
+                rememberCutoff(moves[i], this.otherPlayer, depth);
+            	break;
+            }
+            beta = Math.min(beta, val);
+    
+            if (i == 0 && shouldSplit(b, n - 1))
+            {
+                int[] values = searchBrothers(b, n, this.otherPlayer, depth - 1,
+                    new AtomicInteger(alpha), new AtomicInteger(beta), false);
+                for (int j = 1; j < n; j++)
+                    if (values[j] != NOT_SEARCHED && values[j] < val)
+                    {
+                        val = values[j];
+                        best = moves[j];
+                    }
+                if (val <= alpha) stats.cutoff(false);
+                break;
+            }
+        }
+        store(b, this.otherPlayer, depth, val, alpha, betaOrig, best);
+        return val;
+    }
+    
+    public int maxValue(SearchBoard b, int depth, int alpha, int beta)
+    {
+        if (outOfBudget())
+            return evaluate(b);
+        if (b.terminalTest())
+            return utility(b);
+        if (depth == 0)
+            return evaluate(b);
+        int match;
+        long entry = probe(b, this.playerChar);
+        if ((match = tableValue(entry, b, this.playerChar, depth, alpha, beta)) 
+                != TTable.NOT_FOUND)
+            return match;
+    
+        stats.expand();
+        int alphaOrig = alpha;
+        int val = NEGATIVE_INFINITY;
+        int best = TTable.NO_MOVE;
+        int n = getActions(b, this.playerChar);
+        orderActions(b, n, this.playerChar, depth, entry);
+        int[] moves = b.moves[b.ply];
+        int ply = plyFor(depth - 1);
+        for (int i = 0; i < n; i++)
+        {
+        	stats.visit(ply);
+        	b.make(moves[i], this.playerChar);
+            int v;
+            if (i == 0 || algorithm != PVS)
+                v = minValue(b, depth - 1, alpha, beta);
+            else
+            {
+                //PVS: a null window first, only to show the move is no
+                //better than the best so far, and the whole window
+                //again if it turns out to be
+                v = minValue(b, depth - 1, alpha, alpha + 1);
+                if (v > alpha && v < beta)
+                    v = minValue(b, depth - 1, alpha, beta);
+            }
+            b.unmake();
+            if (v > val)
+            {
+                val = v;
+                best = moves[i];
+            }
+            if (val >= beta)
+            {
+                stats.cutoff(i == 0);
+                rememberCutoff(moves[i], this.playerChar, depth);
+            	break;
+            }
+            alpha = Math.max(alpha, val);
+    
+            if (i == 0 && shouldSplit(b, n - 1))
+            {
+                int[] values = searchBrothers(b, n, this.playerChar, depth - 1,
+                    new AtomicInteger(alpha), new AtomicInteger(beta), false);
+                for (int j = 1; j < n; j++)
+                    if (values[j] != NOT_SEARCHED && values[j] > val)
+                    {
+                        val = values[j];
+                        best = moves[j];
+                    }
+                if (val >= beta) stats.cutoff(false);
+                break;
+            }
+        }
+        store(b, this.playerChar, depth, val, alphaOrig, beta, best);
+        return val;
+    }
+    
+    
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////// END Alpha Beta MINIMAX///////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////// MTD(f) //////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    
+    //MTD(f): search the root with null windows only, each one telling
+    //whether the value is above or below a guess, closing in on it from
+    //the value stored for the root (or the middle if there isn't one).
+    //The table keeps what each pass found, so the next costs little. 
+    //The move played is the one that proved the value from below.
+    private int mtdfDecision(int depth)
+    {
+        SearchBoard b = this.root;
+        long entry = probe(b, this.playerChar);
+        int guess = (entry == TTable.MISSING) ? INFINITY / 2 : TTable.value(entry);
+        int lower = 0;
+        int upper = INFINITY;
+        int n = getRootActions(b);
+        int[] moves = b.moves[b.ply];
+        int best = TTable.NO_MOVE;
+        while (lower < upper && !stopped)
+        {
+            int beta = (guess == lower) ? guess + 1 : guess;
+            orderActions(b, n, this.playerChar, depth, probe(b, this.playerChar));
+            guess = NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++)
+            {
+                stats.visit(1);
+                b.make(moves[i], this.playerChar);
+                int v = minValue(b, depth - 1, beta - 1, beta);
+                b.unmake();
+                guess = Math.max(guess, v);
+                if (v >= beta)
+                {
+                    best = moves[i];
+                    break;
+                }
+            }
+            if (guess < beta) upper = guess;
+            else lower = guess;
+        }
+    
+        //only the best move's value is known (if no pass ever failed
+        //high, every move is worth nothing and any will do)
+        int index = 0;
+        for (int i = 0; i < n; i++)
+        {
+            rootValues[i] = NOT_SEARCHED;
+            if (moves[i] == best) index = i;
+        }
+        rootValues[index] = lower;
+        return index;
+    }
+    
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////// END MTD(f) //////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    
+    //return how many of your piece is on the
+    //final (full) board
+    private int utility(SearchBoard b)
+    {
+        return b.count(this.playerChar);
+    }
+    
+    //Estimate the final utility of a board that isn't full: the
+    //pieces you have, plus each empty spot where more of the
+    //neighbours are yours than the opponent's, plus half of
+    //the spots where it's even.
+    private int evaluate(SearchBoard b)
+    {
+        horizonReached = true;
+        int leaning = 0;
+        int even = 0;
+        for (int spot = b.nextEmpty(0); spot >= 0; spot = b.nextEmpty(spot + 1))
+        {
+            int diff = b.neighbours(spot, this.playerChar) - b.neighbours(spot, this.otherPlayer);
+            if (diff > 0) leaning++;
+            else if (diff == 0) even++;
+        }
+        return b.count(this.playerChar) + leaning + even / 2;
+    }
+    
+    //look b up in the table (with toMove to play), counting the probe
+    private long probe(SearchBoard b, char toMove)
+    {
+        long entry = table().probe(b.hash, toMove);
+        if (entry == TTable.MISSING && solvedStore != null)
+            entry = solvedStore.probe(b.hash, toMove);
+        stats.probe(entry != TTable.MISSING);
+        return entry;
+    }
+    
+    //the value in entry, the table's entry for b (with toMove to play
+    //and depth moves left to search), if it was searched deep enough 
+    //and its bound settles the window (alpha, beta), otherwise 
+    //TTable.NOT_FOUND
+    private int tableValue(long entry, SearchBoard b, char toMove, int depth, 
+            int alpha, int beta)
+    {
+        if (entry == TTable.MISSING) return TTable.NOT_FOUND;
+    
+        //no search goes deeper than there are empty spots
+        int empties = b.empties();
+        if (TTable.depth(entry) < Math.min(depth, empties)) return TTable.NOT_FOUND;
+    
+        int val = TTable.value(entry);
+        int flag = TTable.flag(entry);
+    
+        //the table keeps values for the player to move
+        if (toMove != this.playerChar)
+        {
+            val = INFINITY - val;
+            flag = TTable.flip(flag);
+        }
+    
+        if (flag == TTable.EXACT
+                || (flag == TTable.LOWER && val >= beta)
+                || (flag == TTable.UPPER && val <= alpha))
+        {
+            if (TTable.depth(entry) < empties) horizonReached = true;
+            return val;
+        }
+    
+        return TTable.NOT_FOUND;
+    }
+    
+    //store the value found for b (with toMove to play) by searching
+    //depth moves ahead, flagged against the window (alpha, beta) it
+    //was searched with: a value outside the window only bounds the
+    //real one. Nothing is stored once the budget has run out.
+    private void store(SearchBoard b, char toMove, int depth, int val,
+            int alpha, int beta, int best)
+    {
+        if (stopped) return;
+    
+        stats.store();
+        int flag = TTable.EXACT;
+        if (val <= alpha) flag = TTable.UPPER;
+        else if (val >= beta) flag = TTable.LOWER;
+    
+        if (toMove != this.playerChar)
+        {
+            val = INFINITY - val;
+            flag = TTable.flip(flag);
+        }
+    
+        int empties = b.empties();
+        if (depth >= empties) flag |= TTable.SOLVED;
+        table().store(b.hash, b.symmetry(), toMove, val,
+            Math.min(depth, empties), flag, best);
+    }
+    
+    //Put the moves most likely to cut the search off first: the best
+    //move stored for the board, then moves that capture, then this
+    //ply's killer moves, each group ordered by history score (kept by
+    //spot, so all of a capture's free moves share it, and the ones
+    //that capture too or sit by the player's pieces go first). Sorts
+    //the first n moves of b's current ply in place. entry is the
+    //table's entry for b.
+    private void orderActions(SearchBoard b, int n, char toMove, int depth, long entry)
+    {
+        if (n < 2) return;
+    
+        int ply = plyFor(depth);
+        int side = (toMove == Og.PLAYER_1) ? 0 : 1;
+        int tableMove = (entry == TTable.MISSING) ? TTable.NO_MOVE
+            : TTable.moveFor(b.symmetry(), entry);
+    
+        int[] moves = b.moves[b.ply];
+        int[] scores = b.scores[b.ply];
+        for (int i = 0; i < n; i++)
+        {
+            int move = moves[i];
+            int square = Bitboard.spot(move);
+            int bonus = Bitboard.bonus(move);
+            int score = history[side][square];
+            if (move == tableMove)
+                score += TABLE_MOVE_SCORE;
+            else if (b.captures(square, toMove))
+            {
+                score += CAPTURE_SCORE;
+                if (bonus >= 0)
+                    score += (b.captures(bonus, toMove) ? 8 : 0) + b.neighbours(bonus, toMove);
+            }
+            else if (move == killers[ply][0] || move == killers[ply][1])
+                score += KILLER_SCORE;
+            scores[i] = score;
+        }
+    
+        //insertion sort, highest score first (moves are few)
+        for (int i = 1; i < n; i++)
+        {
+            int score = scores[i];
+            int move = moves[i];
+            int j = i - 1;
+            for (; j >= 0 && scores[j] < score; j--)
+            {
+                scores[j + 1] = scores[j];
+                moves[j + 1] = moves[j];
+            }
+            scores[j + 1] = score;
+            moves[j + 1] = move;
+        }
+    }
+    
+    //how far below the root a node with depth moves left to search is
+    private int plyFor(int depth)
+    {
+        return Math.max(0, Math.min(rootDepth - depth, killers.length - 1));
+    }
+    
+    //a cut off by playing move: make it a killer for this ply and
+    //raise the history of its spot
+    private void rememberCutoff(int move, char toMove, int depth)
+    {
+        int ply = plyFor(depth);
+        int side = (toMove == Og.PLAYER_1) ? 0 : 1;
+        int square = Bitboard.spot(move);
+    
+        if (killers[ply][0] != move)
+        {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        history[side][square] = Math.min(MAX_HISTORY, history[side][square] + depth * depth);
+    }
+    
+    //Fill b's move buffer for its current ply with the moves player
+    //can make (see Bitboard.move) and return how many there are. A
+    //spot that captures comes once for each empty spot left for its
+    //free move, unless free is set (then it's the free move itself and
+    //earns nothing more) or it fills the board. If b is symmetrical,
+    //moving on spots a symmetry of b swaps leads to symmetrical boards,
+    //so only the first spot of each orbit (the spots b's symmetries
+    //swap among themselves) is kept, and the same for the free moves
+    //on the board the capture leaves.
+    int getActions(SearchBoard b, char player, boolean free)
+    {
+    	//Og.println("in GetActions");
+        int ply = b.ply;
+        int[] moves = b.moves[ply];
+        int[] orbitFirst = Bitboard.ORBIT_FIRST[b.stabilizer()];
+        int n = 0;
+        for (int square = b.nextEmpty(0); square >= 0; square = b.nextEmpty(square + 1))
+        {
+        	if (orbitFirst[square] != square)
+        		continue;
+        	if (free || !b.captures(square, player))
+        	{
+        		if (n == moves.length) moves = b.grow(ply);
+        		moves[n++] = square;
+        		continue;
+        	}
+    
+        	b.make(square, player);
+        	int[] bonusFirst = Bitboard.ORBIT_FIRST[b.stabilizer()];
+        	int before = n;
+        	for (int bonus = b.nextEmpty(0); bonus >= 0; bonus = b.nextEmpty(bonus + 1))
+        	{
+        		if (bonusFirst[bonus] != bonus) continue;
+        		if (n == moves.length) moves = b.grow(ply);
+        		moves[n++] = Bitboard.move(square, bonus);
+        	}
+        	b.unmake();
+        	if (n == before)
+        	{
+        		if (n == moves.length) moves = b.grow(ply);
+        		moves[n++] = square;
+        	}
+        }
+        return n;
+    }
+    
+    int getActions(SearchBoard b, char player)
+    {
+        return getActions(b, player, false);
+    }
+    
+    //getActions for this player on the root board, which may be on a
+    //free move, with room for all their values in rootValues
+    private int getRootActions(SearchBoard b)
+    {
+        int n = getActions(b, this.playerChar, freeMove);
+        if (rootValues.length < n)
+            rootValues = new int[b.moves[b.ply].length];
+        return n;
+    }
+    
+    //index of the highest of the first n values (on a tie, the one
+    //whose move is on the first spot); unsearched values are skipped
+    public static int getMax(int[] moves, int[] values, int n)
+    {
+        int best = -1;
+        for (int i = 0; i < n; i++)
+        {
+            if (values[i] != NOT_SEARCHED && (best < 0 || values[i] > values[best]
+                    || (values[i] == values[best] && moves[i] < moves[best])))
+                best = i;
+        }
+        return best;
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////   MCTS PLAYER   /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//A computer player for boards too big to search: Monte Carlo Tree
+//Search (UCT). Each playout walks down the tree from the root, at
+//each node taking a move it hasn't tried yet if there is one, and the
+//child with the best upper confidence bound if not (how often moving
+//there won, plus a bit for how seldom it's been tried). The new node
+//is played out to the end of the game with random moves, and the
+//result added to every node on the way down. When the budget runs
+//out it plays the root move tried most.
+//
+//The tree's moves are single spots: after one that captures, the
+//same player moves again (on a free move, which earns nothing more),
+//so the free move is picked the same way as any other. The random
+//playouts run on the bitboards directly (see SearchBoard.playout).
+//
+//With more than one thread the work is split in one of two ways.
+//Root parallel: each thread grows a tree of its own and the root
+//moves' counts are added up at the end. Tree parallel: the threads
+//share one tree, and each node a thread is below counts as VIRTUAL_LOSS
+//lost games until its playout is back, so the others try elsewhere.
+class MctsPlayer extends Player
+{
+    public static final int ROOT_PARALLEL = 0;
+    public static final int TREE_PARALLEL = 1;
+    
+    //playouts a move when there's no budget set
+    public static final long DEFAULT_PLAYOUTS = 50000;
+    
+    //weight of the exploration term in the upper confidence bound
+    //(results are from 0 to 1)
+    private static final double EXPLORATION = 1.0;
+    private static final int VIRTUAL_LOSS = 3;
+    
+    //threads to grow the tree with, how they split the work, and
+    //their pool (null for one thread, which runs on the caller's)
+    private static int threads = 1;
+    private static int parallel = TREE_PARALLEL;
+    private static ForkJoinPool pool;
+    
+    //budget for each move, in milliseconds and playouts (0 for no limit)
+    private static long moveMillis = 0;
+    private static long movePlayouts = 0;
+    
+    private final char playerChar;
+    private final char otherPlayer;
+    private final SplittableRandom random;
+    
+    //what the last move's search did
+    private long playouts;
+    private long nanos;
+    private double winRate;
+    
+    public MctsPlayer(char c, char o)
+    {
+        this.playerChar = c;
+        this.otherPlayer = o;
+        this.random = new SplittableRandom(1);
+    }
+    
+    //grow the tree with n threads (1 grows it on the calling thread)
+    public static void setThreads(int n)
+    {
+        if (pool != null) pool.shutdown();
+        threads = Math.max(1, n);
+        pool = (threads > 1) ? new ForkJoinPool(threads) : null;
+    }
+    
+    //ROOT_PARALLEL or TREE_PARALLEL
+    public static void setParallel(int p)
+    {
+        parallel = p;
+    }
+    
+    //limit each move to millis milliseconds and playouts playouts (0
+    //for no limit; DEFAULT_PLAYOUTS if neither is set)
+    public static void setBudget(long millis, long playouts)
+    {
+        moveMillis = millis;
+        movePlayouts = playouts;
+    }
+    
+    public Point move(char[][] board)
+    {
+        return move(board, false);
+    }
+    
+    public Point move(char[][] board, boolean freeMove)
+    {
+        int square = decide(board, freeMove);
+    
+        int output = ComputerPlayer.output();
+        if (output != ComputerPlayer.QUIET_OUTPUT)
+            Og.println(String.format("Ran %d playouts, expects to win %.0f%%",
+                playouts, 100 * winRate));
+        if (output == ComputerPlayer.STATS_OUTPUT)
+            Og.println(String.format("%d ms, %.0f playouts/s on %d thread%s%s",
+                nanos / 1000000, playouts * 1e9 / Math.max(1, nanos), threads,
+                (threads == 1) ? "" : "s", (threads == 1) ? ""
+                : (parallel == ROOT_PARALLEL) ? " (root parallel)" : " (tree parallel)"));
+        return Bitboard.pointFor(square);
+    }
+    
+    //how many playouts the last move ran
+    public long lastPlayouts()
+    {
+        return playouts;
+    }
+    
+    //how often the last move won its playouts, from 0 to 1 (a tie is half)
+    public double lastWinRate()
+    {
+        return winRate;
+    }
+    
+    //Pick a move (as a spot, see Bitboard.square) on board, which is
+    //on a free move if freeMove
+    int decide(char[][] board, boolean freeMove)
+    {
+        long start = System.nanoTime();
+        SearchBoard b = SearchBoard.create();
+        b.set(board);
+    
+        long budget = (movePlayouts > 0) ? movePlayouts
+            : (moveMillis > 0) ? Long.MAX_VALUE : DEFAULT_PLAYOUTS;
+        long deadline = (moveMillis > 0) ? start + moveMillis * 1000000 : 0;
+    
+        //one tree for each thread, or one for all of them
+        int trees = (parallel == ROOT_PARALLEL) ? threads : 1;
+        Node[] roots = new Node[trees];
+        for (int t = 0; t < trees; t++)
+            roots[t] = freeMove ? new Node(-1, this.playerChar, true)
+                : new Node(-1, this.otherPlayer, false);
+        if (pool == null)
+            grow(roots[0], b, new AtomicLong(budget), deadline, random);
+        else
+        {
+            List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < trees; t++)
+            {
+                Node root = roots[t];
+                AtomicLong left = new AtomicLong(budget / trees + ((t < budget % trees) ? 1 : 0));
+                for (int i = 0; i < threads / trees; i++)
+                {
+                    SplittableRandom r = random.split();
+                    tasks.add(() -> { grow(root, b, left, deadline, r); return null; });
+                }
+            }
+            try {
+                for (Future<Void> f : pool.invokeAll(tasks))
+                    f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A playout failed", e.getCause());
+            }
+        }
+    
+        //add up each root move over the trees, and take the one tried most
+        long[] visits = new long[Bitboard.SQUARES];
+        long[] score = new long[Bitboard.SQUARES];
+        for (Node root : roots)
+            for (int i = 0; i < root.childCount; i++)
+            {
+                Node c = root.children[i];
+                visits[c.move] += c.visits;
+                score[c.move] += c.score;
+            }
+        int best = b.nextEmpty(0);
+        playouts = 0;
+        for (int s = 0; s < Bitboard.SQUARES; s++)
+        {
+            playouts += visits[s];
+            if (visits[s] > visits[best]) best = s;
+        }
+        winRate = (visits[best] == 0) ? 0.5 : score[best] / (2.0 * visits[best]);
+        nanos = System.nanoTime() - start;
+        return best;
+    }
+    
+    //Run playouts from root (which is the board start) until there
+    //are none left or it's past deadline (if not 0). left is shared by
+    //the threads growing the same tree.
+    private static void grow(Node root, SearchBoard start, AtomicLong left, long deadline,
+        SplittableRandom random)
+    {
+        SearchBoard b = SearchBoard.create();
+        Node[] path = new Node[Bitboard.SQUARES + 1];
+        while (left.getAndDecrement() > 0 && (deadline == 0 || System.nanoTime() < deadline))
+        {
+            b.set(start);
+            Node node = root;
+            node.enter();
+            path[0] = node;
+            int depth = 1;
+    
+            //down the tree until a new node (or the end of the game)
+            while (!b.terminalTest())
+            {
+                char mover = node.again ? node.player : other(node.player);
+                Node child = node.expanded ? null : node.expand(b, mover, random);
+                boolean fresh = (child != null);
+                if (!fresh) child = node.select();
+                child.enter();
+                path[depth++] = child;
+                b.make(child.move, mover);
+                node = child;
+                if (fresh) break;
+            }
+    
+            int p1 = b.terminalTest() ? b.count(Og.PLAYER_1) 
+                : b.playout(node.again ? node.player : other(node.player), node.again, random);
+            for (int i = 0; i < depth; i++)
+                path[i].leave(p1);
+        }
+    }
+    
+    private static char other(char player)
+    {
+        return (player == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+    }
+    
+    //A board in the tree, reached by player moving on move (again if
+    //that captured, and player moves again). Its counts are from 
+    //player's side: score is 2 for each playout they won, 1 for each
+    //tie. The threads sharing a tree update the counts without locking;
+    //a node adds children one at a time, locking itself.
+    private static final class Node
+    {
+        private static final AtomicIntegerFieldUpdater<Node> VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicIntegerFieldUpdater<Node> SCORE =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "score");
+    
+        final int move;
+        final char player;
+        final boolean again;
+        volatile int visits;
+        volatile int score;
+    
+        //the children so far, and the moves not tried yet (set up the
+        //first time the node is expanded); expanded once there are none
+        Node[] children;
+        volatile int childCount;
+        volatile boolean expanded;
+        private int[] untried;
+        private int untriedCount;
+    
+        Node(int move, char player, boolean again)
+        {
+            this.move = move;
+            this.player = player;
+            this.again = again;
+        }
+    
+        //Add a child for one of the moves not tried yet (at random),
+        //mover moving on b, which is this node's board. Returns null
+        //if there are none left.
+        synchronized Node expand(SearchBoard b, char mover, SplittableRandom random)
+        {
+            if (children == null)
+            {
+                untried = new int[b.empties()];
+                for (int s = b.nextEmpty(0); s >= 0; s = b.nextEmpty(s + 1))
+                    untried[untriedCount++] = s;
+                children = new Node[untriedCount];
+            }
+            if (untriedCount == 0) return null;
+    
+            int i = random.nextInt(untriedCount);
+            int move = untried[i];
+            Node child = new Node(move, mover, !again && b.captures(move, mover));
+            untried[i] = untried[--untriedCount];
+            children[childCount] = child;
+            childCount++;
+            if (untriedCount == 0)
+            {
+                expanded = true;
+                untried = null;
+            }
+            return child;
+        }
+    
+        //the child with the highest upper confidence bound
+        Node select()
+        {
+            double logVisits = Math.log(Math.max(1, visits));
+            Node best = null;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int i = 0, n = childCount; i < n; i++)
+            {
+                Node c = children[i];
+                int v = c.visits;
+                if (v <= 0) return c;
+                double bound = c.score / (2.0 * v) + EXPLORATION * Math.sqrt(logVisits / v);
+                if (bound > bestBound)
+                {
+                    best = c;
+                    bestBound = bound;
+                }
+            }
+            return best;
+        }
+    
+        //a playout is on its way through: count it as lost for now
+        void enter()
+        {
+            VISITS.addAndGet(this, VIRTUAL_LOSS);
+        }
+    
+        //the playout through here ended with p1 spots for player 1
+        void leave(int p1)
+        {
+            int own = (player == Og.PLAYER_1) ? p1 : Bitboard.SQUARES - p1;
+            int other = Bitboard.SQUARES - own;
+            VISITS.addAndGet(this, 1 - VIRTUAL_LOSS);
+            if (own >= other) SCORE.addAndGet(this, (own > other) ? 2 : 1);
+        }
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////  SEARCH STATS   /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//What a search did: the boards it visited (by how many moves below
+//the root they are), how the transposition table did, how often the
+//search was cut off and how long it took. The counters are striped
+//(LongAdder), so the threads of a parallel search can all add to them
+//without fighting over one. A ComputerPlayer keeps one for its last
+//move and one for all its moves so far (see ComputerPlayer.lastSearch
+//and ComputerPlayer.allSearches).
+class SearchStats
+{
+    //nodesAt[ply]: boards visited ply moves below the root
+    private final LongAdder[] nodesAt;
+    
+    //boards whose moves were searched (rather than settled by the
+    //table, or by being at the end of the game or the horizon)
+    private final LongAdder expanded = new LongAdder();
+    
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    
+    //expanded boards cut off before all their moves were searched,
+    //and the ones cut off by the first move searched
+    private final LongAdder cutoffs = new LongAdder();
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+    
+    //searches (moves) counted, the time they took and how deep
+    //they went in all
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder depths = new LongAdder();
+    
+    public SearchStats()
+    {
+        nodesAt = new LongAdder[Bitboard.SQUARES + 1];
+        for (int i = 0; i < nodesAt.length; i++)
+            nodesAt[i] = new LongAdder();
+    }
+    
+    //Counting, as the search goes:
+    public void visit(int ply)
+    {
+        nodesAt[ply].increment();
+    }
+    
+    public void expand()
+    {
+        expanded.increment();
+    }
+    
+    public void probe(boolean hit)
+    {
+        probes.increment();
+        if (hit) hits.increment();
+    }
+    
+    public void store()
+    {
+        stores.increment();
+    }
+    
+    public void cutoff(boolean firstMove)
+    {
+        cutoffs.increment();
+        if (firstMove) firstMoveCutoffs.increment();
+    }
+    
+    //a search finished after nanos, having looked depth moves ahead
+    public void searched(long nanos, int depth)
+    {
+        this.searches.increment();
+        this.nanos.add(nanos);
+        this.depths.add(depth);
+    }
+    
+    public void reset()
+    {
+        for (LongAdder a : nodesAt) a.reset();
+        for (LongAdder a : counters()) a.reset();
+    }
+    
+    //add everything s counted to this
+    public void add(SearchStats s)
+    {
+        for (int i = 0; i < nodesAt.length; i++)
+            nodesAt[i].add(s.nodesAt[i].sum());
+        LongAdder[] mine = counters();
+        LongAdder[] theirs = s.counters();
+        for (int i = 0; i < mine.length; i++)
+            mine[i].add(theirs[i].sum());
+    }
+    
+    private LongAdder[] counters()
+    {
+        return new LongAdder[] { expanded, probes, hits, stores, cutoffs,
+            firstMoveCutoffs, searches, nanos, depths };
+    }
+    
+    //Reading (while a search is running these are only a snapshot):
+    public long nodes()
+    {
+        long n = 0;
+        for (LongAdder a : nodesAt) n += a.sum();
+        return n;
+    }
+    
+    public long nodesAt(int ply)
+    {
+        return nodesAt[ply].sum();
+    }
+    
+    public long expanded()
+    {
+        return expanded.sum();
+    }
+    
+    public long probes()
+    {
+        return probes.sum();
+    }
+    
+    public long hits()
+    {
+        return hits.sum();
+    }
+    
+    public long stores()
+    {
+        return stores.sum();
+    }
+    
+    public long cutoffs()
+    {
+        return cutoffs.sum();
+    }
+    
+    public long firstMoveCutoffs()
+    {
+        return firstMoveCutoffs.sum();
+    }
+    
+    public long searches()
+    {
+        return searches.sum();
+    }
+    
+    public double millis()
+    {
+        return nanos.sum() / 1e6;
+    }
+    
+    public double millisPerSearch()
+    {
+        return ratio(millis(), searches());
+    }
+    
+    public double nodesPerSecond()
+    {
+        return ratio(nodes() * 1e9, nanos.sum());
+    }
+    
+    //share of probes that found the board in the table
+    public double hitRate()
+    {
+        return ratio(hits(), probes());
+    }
+    
+    //share of expanded boards that were cut off
+    public double cutoffRate()
+    {
+        return ratio(cutoffs(), expanded());
+    }
+    
+    //share of the cut offs that came from the first move: how often
+    //move ordering got it right straight away
+    public double firstMoveCutoffRate()
+    {
+        return ratio(firstMoveCutoffs(), cutoffs());
+    }
+    
+    //Effective branching factor at a depth (ply moves below the
+    //root): how many boards were visited one move further down for
+    //each one visited there. 0 if none were.
+    public double branchingFactor(int ply)
+    {
+        if (ply + 1 >= nodesAt.length) return 0;
+        return ratio(nodesAt(ply + 1), nodesAt(ply));
+    }
+    
+    //the deepest ply anything was visited at
+    public int deepestPly()
+    {
+        for (int ply = nodesAt.length - 1; ply > 0; ply--)
+            if (nodesAt[ply].sum() > 0) return ply;
+    
+        return 0;
+    }
+    
+    public double averageDepth()
+    {
+        return ratio(depths.sum(), searches());
+    }
+    
+    private static double ratio(double a, double b)
+    {
+        return (b == 0) ? 0 : a / b;
+    }
+    
+    public String toString()
+    {
+        StringBuilder s = new StringBuilder();
+        s.append(String.format("%d nodes (%d expanded) in %.1f ms, %.0f nodes/s",
+            nodes(), expanded(), millis(), nodesPerSecond()));
+        if (searches() > 1)
+            s.append(String.format(", %.1f ms and %.1f moves deep per search",
+                millisPerSearch(), averageDepth()));
+        s.append(String.format("%ntable: %d probes, %.1f%% hits, %d stores",
+            probes(), 100 * hitRate(), stores()));
+        s.append(String.format("%ncutoffs: %.1f%% of expanded nodes, %.1f%% by the first move",
+            100 * cutoffRate(), 100 * firstMoveCutoffRate()));
+        s.append("\nbranching by depth:");
+        for (int ply = 0; ply < deepestPly(); ply++)
+            s.append(String.format(" %.2f", branchingFactor(ply)));
+        return s.toString();
+    }
+}
+
+//Flight recorder event for each move the computer searches, so a
+//recording (java -XX:StartFlightRecording ...) shows what the engine
+//is doing without anything being printed. Loading this class loads
+//the flight recorder, which takes about 0.3 s, so decide only makes
+//one when the flight recorder is already running.
+@Name("og.Search")
+@Label("Search")
+@Category("Og")
+@Description("A computer player searching for one move")
+class SearchEvent extends Event
+{
+    @Label("Player")
+    char player;
+    
+    @Label("Depth")
+    @Description("Moves ahead the search looked")
+    int depth;
+    
+    @Label("Nodes")
+    long nodes;
+    
+    @Label("Expanded Nodes")
+    long expanded;
+    
+    @Label("Table Probes")
+    long probes;
+    
+    @Label("Table Hits")
+    long hits;
+    
+    @Label("Table Stores")
+    long stores;
+    
+    @Label("Cutoffs")
+    long cutoffs;
+    
+    @Label("First Move Cutoffs")
+    long firstMoveCutoffs;
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////   SEARCH BOARD  /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//The board the search works on. It changes in place: make plays a
+//move on it (filling whatever that captures and playing the free
+//move, if any, see Bitboard.play) and unmake takes the last one
+//back. Everything it needs is allocated up front: the board as it
+//was before the move at each ply, and buffers for each ply's moves
+//(with their scores and the keys of the boards they lead to), so
+//the search doesn't allocate anything as it goes.
+//
+//How the pieces are kept depends on the size of the board: one long
+//per player when it fits (NarrowBoard), two above 8x8 (WideBoard).
+//create picks the one for Og.DIM, so small boards keep the fast path.
+abstract class SearchBoard
+{
+    //Zobrist key of the board under each of the 8 symmetries
+    //(see Bitboard.SYMMETRIES), and the smallest of them: a
+    //canonical key, the same for every symmetry of the board
+    public final long[] syms = new long[8];
+    public long hash;
+    
+    //moves made since the board was set
+    public int ply;
+    
+    //the keys before the move made at each ply
+    private final long[][] symsBefore;
+    private final long[] hashBefore;
+    
+    //[ply][i]: the moves found at each ply and their scores when
+    //ordering them (a ply's buffers grow if a board has more moves
+    //than there are spots, see grow)
+    public final int[][] moves;
+    public final int[][] scores;
+    
+    //an empty board of Og.DIM with room for a whole game
+    public static SearchBoard create()
+    {
+        if (Bitboard.SQUARES <= 64) return new NarrowBoard(Bitboard.SQUARES + 1);
+        return new WideBoard(Bitboard.SQUARES + 1);
+    }
+    
+    protected SearchBoard(int plies)
+    {
+        symsBefore = new long[plies][8];
+        hashBefore = new long[plies];
+        moves = new int[plies][Bitboard.SQUARES];
+        scores = new int[plies][Bitboard.SQUARES];
+    }
+    
+    //set to b as it is now (b is the same kind of board)
+    public void set(SearchBoard b)
+    {
+        copyPieces(b);
+        System.arraycopy(b.syms, 0, this.syms, 0, 8);
+        this.hash = b.hash;
+        this.ply = 0;
+    }
+    
+    public void set(char[][] b)
+    {
+        clear();
+        Arrays.fill(this.syms, 0);
+        int l = b.length;
+        for (int i = 0; i < l; i++)
+            for (int j = 0; j < l; j++)
+                if (b[i][j] == Og.PLAYER_1 || b[i][j] == Og.PLAYER_2)
+                    put(Bitboard.square(i, j), b[i][j]);
+        this.hash = Zobrist.canonical(this.syms);
+        this.ply = 0;
+    }
+    
+    //player plays move (see Bitboard.move)
+    public void make(int move, char player)
+    {
+        hashBefore[ply] = hash;
+        System.arraycopy(syms, 0, symsBefore[ply], 0, 8);
+        save(ply);
+        ply++;
+        play(move, player);
+        hash = Zobrist.canonical(syms);
+    }
+    
+    //double the room in ply's move buffers, keeping the moves, and
+    //return the new move buffer
+    public int[] grow(int ply)
+    {
+        moves[ply] = Arrays.copyOf(moves[ply], 2 * moves[ply].length);
+        scores[ply] = Arrays.copyOf(scores[ply], 2 * scores[ply].length);
+        return moves[ply];
+    }
+    
+    //take back the last move made
+    public void unmake()
+    {
+        ply--;
+        restore(ply);
+        hash = hashBefore[ply];
+        System.arraycopy(symsBefore[ply], 0, syms, 0, 8);
+    }
+    
+    //The symmetries that leave the board as it is (bit t for
+    //Bitboard.SYMMETRIES[t]): the ones it has the same key under
+    public int stabilizer()
+    {
+        int stabilizer = 1;
+        for (int t = 1; t < 8; t++)
+            if (syms[t] == syms[0]) stabilizer |= 1 << t;
+        return stabilizer;
+    }
+    
+    //the symmetry that turns this board into the canonical one
+    public int symmetry()
+    {
+        return Zobrist.symmetry(this.syms, this.hash);
+    }
+    
+    //if board is full, game is over
+    public boolean terminalTest()
+    {
+        return empties() == 0;
+    }
+    
+    //Kept by each representation:
+    //empty the board, or copy b's pieces
+    protected abstract void clear();
+    protected abstract void copyPieces(SearchBoard b);
+    
+    //put one of player's pieces on square (updating the keys)
+    protected abstract void put(int square, char player);
+    
+    //remember the pieces before the move at ply, and go back to them
+    protected abstract void save(int ply);
+    protected abstract void restore(int ply);
+    
+    //apply the rules for player playing move (updating the keys)
+    protected abstract void play(int move, char player);
+    
+    //number of spots player controls
+    public abstract int count(char player);
+    
+    //number of spots nobody has filled yet
+    public abstract int empties();
+    
+    //the first empty spot from spot on, or -1 if there isn't one
+    public abstract int nextEmpty(int spot);
+    
+    //would player capture anything by moving on square?
+    public abstract boolean captures(int square, char player);
+    
+    //how many of the spots next to square are player's
+    public abstract int neighbours(int square, char player);
+    
+    //Play random empty spots, player first (on a free move if free),
+    //until the board is full and return how many spots Og.PLAYER_1
+    //ends up with. A player who captures picks a random spot for the
+    //free move too. The board is left as it was. Spots filled by a
+    //capture are dropped from the list as they come up.
+    public int playout(char player, boolean free, SplittableRandom random)
+    {
+        int start = ply;
+        int[] spots = moves[start];
+        int n = 0;
+        for (int s = nextEmpty(0); s >= 0; s = nextEmpty(s + 1))
+            spots[n++] = s;
+    
+        while (n > 0)
+        {
+            int i = random.nextInt(n);
+            int s = spots[i];
+            spots[i] = spots[--n];
+            if (nextEmpty(s) != s) continue;
+    
+            int before = count(player);
+            make(s, player);
+            free = !free && count(player) > before + 1;
+            if (!free) player = (player == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+        }
+    
+        int count = count(Og.PLAYER_1);
+        while (ply > start)
+            unmake();
+        return count;
+    }
+}
+
+//A board of up to 8x8: each player's pieces in a long
+class NarrowBoard extends SearchBoard
+{
+    public long p1;
+    public long p2;
+    
+    private final long[] p1Before;
+    private final long[] p2Before;
+    
+    public NarrowBoard(int plies)
+    {
+        super(plies);
+        p1Before = new long[plies];
+        p2Before = new long[plies];
+    }
+    
+    protected void clear()
+    {
+        p1 = 0;
+        p2 = 0;
+    }
+    
+    protected void copyPieces(SearchBoard b)
+    {
+        this.p1 = ((NarrowBoard) b).p1;
+        this.p2 = ((NarrowBoard) b).p2;
+    }
+    
+    protected void put(int square, char player)
+    {
+        if (player == Og.PLAYER_1) p1 |= 1L << square;
+        else p2 |= 1L << square;
+        Zobrist.place(syms, 1L << square, player);
+    }
+    
+    protected void save(int ply)
+    {
+        p1Before[ply] = p1;
+        p2Before[ply] = p2;
+    }
+    
+    protected void restore(int ply)
+    {
+        p1 = p1Before[ply];
+        p2 = p2Before[ply];
+    }
+    
+    //only the new pieces change the keys
+    protected void play(int move, char player)
+    {
+        if (player == Og.PLAYER_1)
+        {
+            long own = Bitboard.play(p1, p2, move);
+            Zobrist.place(syms, own & ~p1, player);
+            p1 = own;
+        }
+        else
+        {
+            long own = Bitboard.play(p2, p1, move);
+            Zobrist.place(syms, own & ~p2, player);
+            p2 = own;
+        }
+    }
+    
+    public long bitsFor(char player)
+    {
+        return (player == Og.PLAYER_1) ? this.p1 : this.p2;
+    }
+    
+    public long empty()
+    {
+        return Bitboard.FULL & ~(this.p1 | this.p2);
+    }
+    
+    public int count(char player)
+    {
+        return Long.bitCount(bitsFor(player));
+    }
+    
+    public int empties()
+    {
+        return Long.bitCount(empty());
+    }
+    
+    public int nextEmpty(int spot)
+    {
+        if (spot >= Bitboard.SQUARES) return -1;
+        long empty = empty() & (-1L << spot);
+        return (empty == 0) ? -1 : Long.numberOfTrailingZeros(empty);
+    }
+    
+    public boolean captures(int square, char player)
+    {
+        long other = (player == Og.PLAYER_1) ? p2 : p1;
+        return Bitboard.captured(bitsFor(player), other, square) != 0;
+    }
+    
+    public int neighbours(int square, char player)
+    {
+        return Long.bitCount(Bitboard.neighbours(square) & bitsFor(player));
+    }
+    
+    //the same on copies of the two longs, without keeping the keys:
+    //own is always the pieces of the player to move
+    public int playout(char player, boolean free, SplittableRandom random)
+    {
+        long own = bitsFor(player);
+        long other = (player == Og.PLAYER_1) ? p2 : p1;
+        long empty = Bitboard.FULL & ~(own | other);
+        while (empty != 0)
+        {
+            //the k-th empty spot
+            long pick = empty;
+            for (int k = random.nextInt(Long.bitCount(empty)); k > 0; k--)
+                pick &= pick - 1;
+            long moved = Bitboard.play(own, other, Long.numberOfTrailingZeros(pick));
+            free = !free && Long.bitCount(moved) > Long.bitCount(own) + 1;
+            if (free)
+                own = moved;
+            else
+            {
+                own = other;
+                other = moved;
+                player = (player == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+            }
+            empty = Bitboard.FULL & ~(own | other);
+        }
+        return Long.bitCount((player == Og.PLAYER_1) ? own : other);
+    }
+}
+
+//A board from 9x9 up to Bitboard.MAX_DIM: each player's pieces in
+//two longs, spot s being bit s of the first (s < 64) or bit s - 64
+//of the second. The rules are the same as Bitboard.play, spelled
+//out a spot at a time.
+class WideBoard extends SearchBoard
+{
+    //{ low, high }
+    private final long[] p1 = new long[2];
+    private final long[] p2 = new long[2];
+    
+    //{ p1 low, p1 high, p2 low, p2 high } before each ply
+    private final long[][] before;
+    
+    public WideBoard(int plies)
+    {
+        super(plies);
+        before = new long[plies][4];
+    }
+    
+    protected void clear()
+    {
+        Arrays.fill(p1, 0);
+        Arrays.fill(p2, 0);
+    }
+    
+    protected void copyPieces(SearchBoard b)
+    {
+        System.arraycopy(((WideBoard) b).p1, 0, this.p1, 0, 2);
+        System.arraycopy(((WideBoard) b).p2, 0, this.p2, 0, 2);
+    }
+    
+    protected void put(int square, char player)
+    {
+        long[] own = bitsFor(player);
+        own[square >>> 6] |= 1L << square;
+        Zobrist.place(syms, 1L << square, square & ~63, player);
+    }
+    
+    protected void save(int ply)
+    {
+        long[] b = before[ply];
+        b[0] = p1[0];
+        b[1] = p1[1];
+        b[2] = p2[0];
+        b[3] = p2[1];
+    }
+    
+    protected void restore(int ply)
+    {
+        long[] b = before[ply];
+        p1[0] = b[0];
+        p1[1] = b[1];
+        p2[0] = b[2];
+        p2[1] = b[3];
+    }
+    
+    protected void play(int move, char player)
+    {
+        long[] own = bitsFor(player);
+        long[] other = (own == p1) ? p2 : p1;
+        int square = Bitboard.spot(move);
+        put(square, player);
+        if (!fillCaptured(square, own, other, player)) return;
+    
+        //then the free move, if it has one
+        int bonus = Bitboard.bonus(move);
+        if (bonus < 0) return;
+        put(bonus, player);
+        fillCaptured(bonus, own, other, player);
+    }
+    
+    //fill the spots next to square that own has surrounded, if any
+    private boolean fillCaptured(int square, long[] own, long[] other, char player)
+    {
+        boolean caught = false;
+        for (int n : Bitboard.ADJACENT[square])
+            if (isCaptured(n, own, other))
+            {
+                put(n, player);
+                caught = true;
+            }
+        return caught;
+    }
+    
+    //is spot empty with every neighbour one of own's pieces?
+    private static boolean isCaptured(int spot, long[] own, long[] other)
+    {
+        if ((((own[spot >>> 6] | other[spot >>> 6]) >>> spot) & 1) != 0) return false;
+        return (Bitboard.NEIGHBOURS[spot] & ~own[0]) == 0
+            && (Bitboard.NEIGHBOURS_HIGH[spot] & ~own[1]) == 0;
+    }
+    
+    private long[] bitsFor(char player)
+    {
+        return (player == Og.PLAYER_1) ? this.p1 : this.p2;
+    }
+    
+    public int count(char player)
+    {
+        long[] own = bitsFor(player);
+        return Long.bitCount(own[0]) + Long.bitCount(own[1]);
+    }
+    
+    public int empties()
+    {
+        return Bitboard.SQUARES - count(Og.PLAYER_1) - count(Og.PLAYER_2);
+    }
+    
+    public int nextEmpty(int spot)
+    {
+        if (spot >= Bitboard.SQUARES) return -1;
+    
+        long low = Bitboard.FULL & ~(p1[0] | p2[0]);
+        long high = Bitboard.FULL_HIGH & ~(p1[1] | p2[1]);
+        if (spot < 64 && (low & (-1L << spot)) != 0)
+            return Long.numberOfTrailingZeros(low & (-1L << spot));
+    
+        high &= (spot < 64) ? -1L : (-1L << spot);
+        return (high == 0) ? -1 : 64 + Long.numberOfTrailingZeros(high);
+    }
+    
+    public boolean captures(int square, char player)
+    {
+        long[] own = bitsFor(player);
+        long[] other = (own == p1) ? p2 : p1;
+    
+        //try the move without filling anything
+        long bit = 1L << square;
+        own[square >>> 6] |= bit;
+        boolean caught = false;
+        for (int n : Bitboard.ADJACENT[square])
+            caught |= isCaptured(n, own, other);
+        own[square >>> 6] &= ~bit;
+        return caught;
+    }
+    
+    public int neighbours(int square, char player)
+    {
+        long[] own = bitsFor(player);
+        return Long.bitCount(Bitboard.NEIGHBOURS[square] & own[0])
+            + Long.bitCount(Bitboard.NEIGHBOURS_HIGH[square] & own[1]);
+    }
+}
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////    BITBOARD     /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Helper class for the bitboard representation of a board.
+//Spot (row, col) is number (row * DIM + col). Up to 8x8 each
+//player's pieces are kept in a long, spot s being bit s, so a whole
+//board is two longs (see NarrowBoard); bigger boards, up to MAX_DIM,
+//take a second long per player for spots 64 and up (see WideBoard).
+//Captures are checked against a table of each spot's neighbours,
+//only around the spot just played.
+//
+//A move is a spot, or for a move that captures, the spot and where
+//the free move the capture earns goes, packed in an int (see move).
+//A plain spot that captures fills what it captured and earns nothing
+//more, as on the free move itself.
+//
+//The tables are for a board of Og.DIM: resize rebuilds them when
+//the size changes.
+class Bitboard
+{
+    //biggest board two longs per player can hold
+    public static final int MAX_DIM = 11;
+    
+    public static int SQUARES;
+    
+    //every spot on the board: spots 0 to 63, and 64 and up
+    public static long FULL;
+    public static long FULL_HIGH;
+    
+    //SYMMETRIES[t][s] is where spot s ends up under symmetry t,
+    //for the 8 symmetries of a square (rotations and reflections)
+    public static int[][] SYMMETRIES;
+    
+    //INVERSES[t] undoes SYMMETRIES[t]
+    public static int[][] INVERSES;
+    
+    //ORBIT_FIRST[g][s]: the first spot s is sent to by any of the 
+    //symmetries in g (bit t for SYMMETRIES[t]). When g is all of a 
+    //board's symmetries, the spots with the same first spot are the
+    //ones they swap among themselves.
+    public static int[][] ORBIT_FIRST;
+    
+    //the spots next to each spot (2 in a corner, 3 against a
+    //wall, 4 elsewhere), as a list and as a mask (spots 0 to 63
+    //and 64 and up)
+    public static int[][] ADJACENT;
+    public static long[] NEIGHBOURS;
+    public static long[] NEIGHBOURS_HIGH;
+    
+    static
+    {
+        resize();
+    }
+    
+    public static void resize()
+    {
+        if (Og.DIM > MAX_DIM)
+            throw new IllegalStateException("Bitboards only fit boards up to "
+                + MAX_DIM + "x" + MAX_DIM);
+    
+        SQUARES = Og.DIM * Og.DIM;
+        FULL = (SQUARES >= 64) ? -1L : (1L << SQUARES) - 1;
+        FULL_HIGH = (SQUARES <= 64) ? 0 : (1L << (SQUARES - 64)) - 1;
+        SYMMETRIES = new int[8][SQUARES];
+        INVERSES = new int[8][SQUARES];
+        ADJACENT = new int[SQUARES][];
+        NEIGHBOURS = new long[SQUARES];
+        NEIGHBOURS_HIGH = new long[SQUARES];
+    
+        int m = Og.DIM - 1;
+        for (int r = 0; r < Og.DIM; r++)
+            for (int c = 0; c < Og.DIM; c++)
+            {
+                int s = square(r, c);
+                SYMMETRIES[0][s] = s;                           //identity
+                SYMMETRIES[1][s] = square(c, m - r);            //rotate 90
+                SYMMETRIES[2][s] = square(m - r, m - c);        //rotate 180
+                SYMMETRIES[3][s] = square(m - c, r);            //rotate 270
+                SYMMETRIES[4][s] = square(c, r);                //flip over y = -x
+                SYMMETRIES[5][s] = square(m - c, m - r);        //flip over y = x
+                SYMMETRIES[6][s] = square(r, m - c);            //flip left-right
+                SYMMETRIES[7][s] = square(m - r, c);            //flip top-bottom
+            }
+    
+        for (int t = 0; t < 8; t++)
+            for (int s = 0; s < SQUARES; s++)
+                INVERSES[t][SYMMETRIES[t][s]] = s;
+    
+        ORBIT_FIRST = new int[256][SQUARES];
+        for (int g = 0; g < 256; g++)
+            for (int s = 0; s < SQUARES; s++)
+            {
+                int first = s;
+                for (int t = 0; t < 8; t++)
+                    if ((g & (1 << t)) != 0) first = Math.min(first, SYMMETRIES[t][s]);
+                ORBIT_FIRST[g][s] = first;
+            }
+    
+        for (int r = 0; r < Og.DIM; r++)
+            for (int c = 0; c < Og.DIM; c++)
+            {
+                int[] around = new int[4];
+                int n = 0;
+                if (r > 0) around[n++] = square(r - 1, c);
+                if (r < m) around[n++] = square(r + 1, c);
+                if (c > 0) around[n++] = square(r, c - 1);
+                if (c < m) around[n++] = square(r, c + 1);
+    
+                int s = square(r, c);
+                ADJACENT[s] = Arrays.copyOf(around, n);
+                for (int i = 0; i < n; i++)
+                {
+                    if (around[i] < 64) NEIGHBOURS[s] |= 1L << around[i];
+                    else NEIGHBOURS_HIGH[s] |= 1L << around[i];
+                }
+            }
+    }
+    
+    //moves: the spot in the low 7 bits, the free move's spot + 1 above
+    private static final int BONUS_SHIFT = 7;
+    private static final int SPOT_MASK = (1 << BONUS_SHIFT) - 1;
+    
+    public static int square(int row, int col)
+    {
+        return row * Og.DIM + col;
+    }
+    
+    //moving on square, then on bonus (-1 for a plain move)
+    public static int move(int square, int bonus)
+    {
+        return square | ((bonus + 1) << BONUS_SHIFT);
+    }
+    
+    //the spot a move is on
+    public static int spot(int move)
+    {
+        return move & SPOT_MASK;
+    }
+    
+    //the spot of a move's free move, or -1 if it has none
+    public static int bonus(int move)
+    {
+        return (move >>> BONUS_SHIFT) - 1;
+    }
+    
+    //move as it is on a board turned by symmetry (one of SYMMETRIES
+    //or INVERSES)
+    public static int transform(int[] symmetry, int move)
+    {
+        int bonus = bonus(move);
+        return move(symmetry[spot(move)], (bonus < 0) ? -1 : symmetry[bonus]);
+    }
+    
+    public static long bit(int row, int col)
+    {
+        return 1L << square(row, col);
+    }
+    
+    public static Point pointFor(int square)
+    {
+        return new Point(square / Og.DIM, square % Og.DIM);
+    }
+    
+    //move as "row,col", or "row,col+row,col" with its free move
+    public static String toString(int move)
+    {
+        Point p = pointFor(spot(move));
+        String s = p.x + "," + p.y;
+        int bonus = bonus(move);
+        if (bonus < 0) return s;
+        Point q = pointFor(bonus);
+        return s + "+" + q.x + "," + q.y;
+    }
+    
+    //the (up to four) spots next to square, on a board up to 8x8
+    public static long neighbours(int square)
+    {
+        return NEIGHBOURS[square];
+    }
+    
+    //Spots own captures by moving on square (on a board up to 8x8):
+    //empty spots where each of the neighbours is one of own's pieces.
+    //Only the spots next to square can have just been surrounded, so
+    //only they are looked at (this assumes own had no captured spots
+    //left unfilled, which play makes sure of).
+    public static long captured(long own, long other, int square)
+    {
+        own |= 1L << square;
+        long caught = 0;
+        for (long around = NEIGHBOURS[square] & ~(own | other); around != 0; around &= around - 1)
+        {
+            int n = Long.numberOfTrailingZeros(around);
+            if ((NEIGHBOURS[n] & ~own) == 0) caught |= 1L << n;
+        }
+        return caught;
+    }
+    
+    //own's pieces after playing move (on a board up to 8x8): any 
+    //spots its spot captures are filled, then its free move (if it
+    //has one) is played, filling whatever that captures in turn.
+    //(Filling a captured spot can't surround another: its neighbours
+    //are full.)
+    public static long play(long own, long other, int move)
+    {
+        int square = spot(move);
+        long caught = captured(own, other, square);
+        own |= (1L << square) | caught;
+    
+        int bonus = bonus(move);
+        if (caught != 0 && bonus >= 0)
+            own |= captured(own, other, bonus) | (1L << bonus);
+        return own;
+    }
+}
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////     ZOBRIST     /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Random keys for Zobrist hashing. The key of a board is the XOR 
+//of one random long per filled spot and player, so playing a
+//piece updates it with a single XOR. The seed is fixed so a 
+//board always gets the same key.
+//
+//Keys are kept for all 8 symmetries of the board at once: under
+//symmetry t a piece on spot s is hashed as if it were on 
+//Bitboard.SYMMETRIES[t][s]. Symmetrical boards therefore share 
+//the same set of 8 keys, and the smallest of them is a canonical
+//key for the whole set.
+class Zobrist
+{
+    private static final long SEED = 0x0F0F5EEDL;
+    
+    //[symmetry][spot]
+    private static long[][] p1Keys;
+    private static long[][] p2Keys;
+    
+    //mixed in when it is player 2's turn
+    private static long p2ToMove;
+    
+    static
+    {
+        resize();
+    }
+    
+    //new keys for a board of Og.DIM (see Bitboard.resize)
+    public static void resize()
+    {
+        p1Keys = new long[8][Bitboard.SQUARES];
+        p2Keys = new long[8][Bitboard.SQUARES];
+        
+        Random r = new Random(SEED);
+        for (int i = 0; i < Bitboard.SQUARES; i++)
+        {
+            p1Keys[0][i] = r.nextLong();
+            p2Keys[0][i] = r.nextLong();
+        }
+        p2ToMove = r.nextLong();
+        
+        for (int t = 1; t < 8; t++)
+            for (int i = 0; i < Bitboard.SQUARES; i++)
+            {
+                p1Keys[t][i] = p1Keys[0][Bitboard.SYMMETRIES[t][i]];
+                p2Keys[t][i] = p2Keys[0][Bitboard.SYMMETRIES[t][i]];
+            }
+    }
+    
+    //update keys for player's pieces being placed on spots
+    public static void place(long[] keys, long spots, char player)
+    {
+        place(keys, spots, 0, player);
+    }
+    
+    //the same for spots first to first + 63, bit i of spots 
+    //being spot first + i (see WideBoard)
+    public static void place(long[] keys, long spots, int first, char player)
+    {
+        long[][] table = (player == Og.PLAYER_1) ? p1Keys : p2Keys;
+        for (; spots != 0; spots &= spots - 1)
+        {
+            int square = first + Long.numberOfTrailingZeros(spots);
+            for (int t = 0; t < 8; t++)
+                keys[t] ^= table[t][square];
+        }
+    }
+    
+    //key of whose turn it is, to be XORed into a board's key
+    public static long sideKey(char toMove)
+    {
+        return (toMove == Og.PLAYER_2) ? p2ToMove : 0;
+    }
+    
+    //the smallest of the 8 keys
+    public static long canonical(long[] keys)
+    {
+        long min = keys[0];
+        for (int t = 1; t < 8; t++)
+            min = Math.min(min, keys[t]);
+        
+        return min;
+    }
+    
+    //the symmetry (see Bitboard.SYMMETRIES) whose key is the
+    //canonical one
+    public static int symmetry(long[] keys, long canonical)
+    {
+        for (int t = 0; t < 8; t++)
+            if (keys[t] == canonical) return t;
+        
+        return 0;
+    }
+}
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////     T TABLE     /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Transposition table: a fixed-size hash table from the key of a
+//board (its canonical Zobrist key and whose turn it is) to what 
+//the search learned about it: a value, whether that value is exact
+//or only a lower/upper bound (when alpha-beta cut the node off), 
+//the depth of the search below it and the best move found.
+//
+//Slots come in buckets of two. The first slot keeps the deepest
+//entry, unless it is left over from an earlier move; the second 
+//always takes whatever the first turned down (or pushed out). So 
+//the table never grows and recent entries always get in. 
+//Every slot is two longs: the key XORed with the packed entry, and
+//the entry.
+//
+//The buckets live outside the heap, in direct buffers of up to a GB
+//each, so a table of many GB costs the garbage collector nothing and
+//the heap can stay small. (Direct memory is limited to the heap's
+//size unless -XX:MaxDirectMemorySize says otherwise.) A table can 
+//also be a file mapped into memory (see map), which lasts from run
+//to run and which several processes on the machine can map at once.
+//
+//Nothing is locked: any number of search threads (or processes
+//sharing a file) probe and store at once. A slot two of them write
+//at the same time can end up with one's key half and the other's
+//entry, but then the key half XORed with the entry isn't the key
+//any more, so the slot just misses. Losing an entry to a race now
+//and then costs a little search; using a mixed up one could cost
+//the game.
+class TTable
+{
+    public static final int DEFAULT_MB = 16;
+    
+    //bound flags
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+    
+    //added to the flag of entries searched to the end of the game,
+    //whose value no deeper search can change
+    public static final int SOLVED = 4;
+    
+    //returned by probe for boards that aren't in the table
+    public static final long MISSING = 0;
+    
+    //the most solved entries solvedEntries can return
+    public static final int MAX_SOLVED = (Integer.MAX_VALUE - 8) / 2;
+    
+    //returned by value lookups that find nothing usable
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+    
+    //stored when there is no best move
+    public static final int NO_MOVE = 0xFFFF;
+    
+    //entry layout: value in the low 16 bits, then depth, flag,
+    //move and generation
+    private static final int DEPTH_SHIFT = 16;
+    private static final int FLAG_SHIFT = 24;
+    private static final int MOVE_SHIFT = 32;
+    private static final int GEN_SHIFT = 48;
+    
+    //32 bytes per bucket, the key and entry for each slot, in chunks
+    //of 2^CHUNK_SHIFT buckets
+    private static final int BUCKET_BYTES = 32;
+    private static final int CHUNK_SHIFT = 25;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private final ByteBuffer[] chunks;
+    private final long bucketMask;
+    private volatile int generation;
+    
+    //a mapped table's file starts with a header of 4 longs (MAGIC,
+    //the board size, a check on the Zobrist keys and how many buckets
+    //there are), then a page later the buckets
+    private static final long MAGIC = 0x4F67545461626C32L; //"OgTTabl2"
+    private static final int HEADER_BYTES = 4096;
+    
+    //what clear copies over the buckets (only ever read)
+    private static final ByteBuffer ZEROS = ByteBuffer.allocateDirect(1 << 16);
+    
+    //an empty table of about megabytes MB (a power of two buckets)
+    public TTable(int megabytes)
+    {
+        this(buckets(megabytes));
+        try {
+            for (int c = 0; c < chunks.length; c++)
+                chunks[c] = ByteBuffer.allocateDirect(chunkBytes(c))
+                    .order(ByteOrder.nativeOrder());
+        } catch (OutOfMemoryError e) {
+            throw new IllegalArgumentException("Not enough direct memory for a " + megabytes 
+                + " MB table (see -XX:MaxDirectMemorySize)");
+        }
+    }
+    
+    private TTable(long buckets)
+    {
+        bucketMask = buckets - 1;
+        chunks = new ByteBuffer[(int) ((buckets + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        generation = 0;
+    }
+    
+    //Map a table of about megabytes MB kept in file, creating it if 
+    //it doesn't exist. If it holds a table of another size (or for
+    //another board size) it is refused, not emptied: another process
+    //may have it mapped. Whatever the search stores goes straight to
+    //the mapping, so the next run (or another process mapping it now)
+    //finds it there.
+    public static TTable map(int megabytes, Path file) throws IOException
+    {
+        long buckets = buckets(megabytes);
+        TTable table = new TTable(buckets);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE))
+        {
+            boolean fresh = channel.size() == 0;
+            if (!fresh && channel.size() < HEADER_BYTES)
+                throw new IllegalArgumentException(file + " isn't a table file");
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES)
+                .order(ByteOrder.nativeOrder());
+            if (fresh)
+                header.putLong(0, MAGIC).putLong(8, Og.DIM)
+                    .putLong(16, Zobrist.sideKey(Og.PLAYER_2)).putLong(24, buckets);
+            else if (header.getLong(0) != MAGIC)
+                throw new IllegalArgumentException(file + " isn't a table file");
+            else if (header.getLong(8) != Og.DIM 
+                    || header.getLong(16) != Zobrist.sideKey(Og.PLAYER_2))
+                throw new IllegalArgumentException(file + " holds a table for another board size"
+                    + " (delete it or pick another file)");
+            else if (header.getLong(24) != buckets)
+                throw new IllegalArgumentException(file + " holds a table of " 
+                    + header.getLong(24) * BUCKET_BYTES / (1 << 20) 
+                    + " MB, not " + buckets * BUCKET_BYTES / (1 << 20) 
+                    + " (delete it or pick another file)");
+            
+            long at = HEADER_BYTES;
+            for (int c = 0; c < table.chunks.length; c++)
+            {
+                int bytes = table.chunkBytes(c);
+                table.chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, at, bytes)
+                    .order(ByteOrder.nativeOrder());
+                at += bytes;
+            }
+        }
+        return table;
+    }
+    
+    //the number of buckets in a table of about megabytes MB
+    private static long buckets(int megabytes)
+    {
+        return Long.highestOneBit(Math.max(1, (megabytes * (1L << 20)) / BUCKET_BYTES));
+    }
+    
+    //bytes in chunk c (the last may be smaller than the rest)
+    private int chunkBytes(int c)
+    {
+        long buckets = Math.min(bucketMask + 1 - ((long) c << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+        return (int) buckets * BUCKET_BYTES;
+    }
+    
+    //a new move is being searched: entries from earlier 
+    //searches are now the first to be replaced
+    public void newSearch()
+    {
+        generation = (generation + 1) & 0xFF;
+    }
+    
+    //empty the table, as if it was new, copying ZEROS over it a
+    //block at a time
+    public void clear()
+    {
+        for (ByteBuffer chunk : chunks)
+            for (int i = 0; i < chunk.capacity(); i += ZEROS.capacity())
+                chunk.put(i, ZEROS, 0, Math.min(ZEROS.capacity(), chunk.capacity() - i));
+        generation = 0;
+    }
+    
+    //the entry for the board with canonical key hash and toMove
+    //to play, or MISSING
+    public long probe(long hash, char toMove)
+    {
+        long key = hash ^ Zobrist.sideKey(toMove);
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunkFor(bucket);
+        int i = offsetFor(bucket);
+        long entry = chunk.getLong(i + 8);
+        if ((chunk.getLong(i) ^ entry) == key && entry != 0) return entry;
+        entry = chunk.getLong(i + 24);
+        if ((chunk.getLong(i + 16) ^ entry) == key && entry != 0) return entry;
+        
+        return MISSING;
+    }
+    
+    //store an entry for the board with canonical key hash, which
+    //symmetry turns into the canonical board, with toMove to play
+    public void store(long hash, int symmetry, char toMove, int val, int depth, int flag, int move)
+    {
+        long key = hash ^ Zobrist.sideKey(toMove);
+        
+        //moves are kept as seen on the canonical board
+        if (move != NO_MOVE) move = Bitboard.transform(Bitboard.SYMMETRIES[symmetry], move);
+        long entry = (val & 0xFFFFL) 
+            | ((long) depth << DEPTH_SHIFT) 
+            | ((long) flag << FLAG_SHIFT) 
+            | ((long) move << MOVE_SHIFT) 
+            | ((long) generation << GEN_SHIFT);
+        
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunkFor(bucket);
+        int i = offsetFor(bucket);
+        long check = chunk.getLong(i);
+        long old = chunk.getLong(i + 8);
+        boolean same = (check ^ old) == key;
+        if (same || old == 0 
+                || generation(old) != generation || depth >= depth(old))
+        {
+            //push the old entry down to the always-replace slot (as
+            //it was read: if that was mixed up, it stays mixed up)
+            if (!same && old != 0)
+            {
+                chunk.putLong(i + 16, check);
+                chunk.putLong(i + 24, old);
+            }
+            chunk.putLong(i, key ^ entry);
+            chunk.putLong(i + 8, entry);
+        }
+        else 
+        {
+            chunk.putLong(i + 16, key ^ entry);
+            chunk.putLong(i + 24, entry);
+        }
+    }
+    
+    //The keys of the solved entries in the table, followed by the
+    //entries (generation cleared) in the same order. They are counted
+    //first, so nothing the size of the table is allocated on the heap.
+    //More than MAX_SOLVED of them don't fit in an array.
+    public long[] solvedEntries()
+    {
+        long count = 0;
+        for (long bucket = 0; bucket <= bucketMask; bucket++)
+            count += copySolved(bucket, null, 0, 0);
+        if (count > MAX_SOLVED)
+            throw new IllegalStateException("The table has " + count 
+                + " solved boards, more than the " + MAX_SOLVED 
+                + " that can be saved at once");
+    
+        int n = (int) count;
+        long[] solved = new long[2 * n];
+        int found = 0;
+        for (long bucket = 0; bucket <= bucketMask; bucket++)
+            found += copySolved(bucket, solved, found, n);
+        if (found == n) return solved;
+    
+        //another process sharing the file replaced some since the count
+        long[] fewer = new long[2 * found];
+        System.arraycopy(solved, 0, fewer, 0, found);
+        System.arraycopy(solved, n, fewer, found, found);
+        return fewer;
+    }
+    
+    //how many solved entries bucket has, copying them to solved (if
+    //not null): the keys from at on and the entries from n + at on,
+    //as many as fit below n
+    private int copySolved(long bucket, long[] solved, int at, int n)
+    {
+        ByteBuffer chunk = chunkFor(bucket);
+        int i = offsetFor(bucket);
+        int found = 0;
+        for (int slot = i; slot < i + BUCKET_BYTES; slot += 16)
+        {
+            long entry = chunk.getLong(slot + 8);
+            if (entry == 0 || !solved(entry)) continue;
+            if (solved != null)
+            {
+                if (at + found == n) break;
+                solved[at + found] = chunk.getLong(slot) ^ entry;
+                solved[n + at + found] = entry & ~(0xFFL << GEN_SHIFT);
+            }
+            found++;
+        }
+        return found;
+    }
+    
+    //the chunk holding bucket, and where the bucket starts in it
+    private ByteBuffer chunkFor(long bucket)
+    {
+        return chunks[(int) (bucket >>> CHUNK_SHIFT)];
+    }
+    
+    private static int offsetFor(long bucket)
+    {
+        return ((int) bucket & CHUNK_MASK) * BUCKET_BYTES;
+    }
+
+    
+    //reading a packed entry
+    public static int value(long entry)
+    {
+        return (short) entry;
+    }
+    
+    public static int depth(long entry)
+    {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+    
+    public static int flag(long entry)
+    {
+        return (int) (entry >>> FLAG_SHIFT) & 0x3;
+    }
+    
+    public static boolean solved(long entry)
+    {
+        return ((entry >>> FLAG_SHIFT) & SOLVED) != 0;
+    }
+    
+    public static int move(long entry)
+    {
+        return (int) (entry >>> MOVE_SHIFT) & 0xFFFF;
+    }
+    
+    //the stored move of an entry, as a move on the board that
+    //symmetry turns into the canonical one, or NO_MOVE
+    public static int moveFor(int symmetry, long entry)
+    {
+        int move = move(entry);
+        if (move == NO_MOVE) return NO_MOVE;
+        return Bitboard.transform(Bitboard.INVERSES[symmetry], move);
+    }
+    
+    private static int generation(long entry)
+    {
+        return (int) (entry >>> GEN_SHIFT) & 0xFF;
+    }
+    
+    //the same bound seen from the other player's side
+    public static int flip(int flag)
+    {
+        if (flag == LOWER) return UPPER;
+        if (flag == UPPER) return LOWER;
+        return flag;
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////  SOLVED STORE   /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Boards solved in earlier runs, kept in a file and mapped read-only,
+//so the first moves of a game don't have to be solved all over again.
+//The computer looks here when its table doesn't have a board.
+//
+//The file is a header of 4 longs (MAGIC, the board size, a check on
+//the Zobrist keys and how many boards there are), then the keys of 
+//the boards in order, then their TTable entries in the same order.
+//Lookups binary search the keys straight out of the mapping, so 
+//nothing is read in up front, and processes using the same file
+//share its pages. A file over 1 GB is mapped a GB at a time.
+class SolvedStore
+{
+    private static final long MAGIC = 0x4F67536F6C766532L; //"OgSolve2"
+    private static final int HEADER = 4;
+    
+    //longs in each mapped chunk of the file (1 GB)
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    
+    //bytes written at a time (see Output)
+    private static final int WRITE_BYTES = 1 << 16;
+    
+    private final LongBuffer[] chunks;
+    private final long n;
+    
+    private SolvedStore(LongBuffer[] chunks, long n)
+    {
+        this.chunks = chunks;
+        this.n = n;
+    }
+    
+    //map file, or null if it doesn't exist yet
+    public static SolvedStore open(Path file) throws IOException
+    {
+        if (!Files.exists(file)) return null;
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size < HEADER * 8 || size % 8 != 0)
+                throw new IllegalArgumentException(file + " isn't a solved boards file");
+            
+            long longs = size / 8;
+            LongBuffer[] chunks = new LongBuffer[(int) ((longs + CHUNK_MASK) >>> CHUNK_SHIFT)];
+            for (int c = 0; c < chunks.length; c++)
+            {
+                long from = (long) c << CHUNK_SHIFT;
+                long count = Math.min(CHUNK_MASK + 1, longs - from);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, from * 8, count * 8)
+                    .asLongBuffer();
+            }
+            SolvedStore store = new SolvedStore(chunks, 0);
+            if (store.get(0) != MAGIC)
+                throw new IllegalArgumentException(file + " isn't a solved boards file");
+            if (store.get(1) != Og.DIM || store.get(2) != keyCheck())
+                throw new IllegalArgumentException(file + " holds boards of another size (" 
+                    + store.get(1) + "x" + store.get(1) + ")");
+            
+            long n = store.get(3);
+            if (n < 0 || HEADER + 2 * n > longs)
+                throw new IllegalArgumentException(file + " is cut short");
+            return new SolvedStore(chunks, n);
+        }
+    }
+    
+    //long i of the file
+    private long get(long i)
+    {
+        return chunks[(int) (i >>> CHUNK_SHIFT)].get((int) (i & CHUNK_MASK));
+    }
+    
+    //the entry for the board with canonical key hash and toMove
+    //to play, or TTable.MISSING
+    public long probe(long hash, char toMove)
+    {
+        long key = hash ^ Zobrist.sideKey(toMove);
+        long lo = 0;
+        long hi = n - 1;
+        while (lo <= hi)
+        {
+            long mid = (lo + hi) >>> 1;
+            long k = get(HEADER + mid);
+            if (k < key) lo = mid + 1;
+            else if (k > key) hi = mid - 1;
+            else return get(HEADER + n + mid);
+        }
+        return TTable.MISSING;
+    }
+    
+    public long size()
+    {
+        return n;
+    }
+    
+    //Write the boards in old (which may be null) and the solved ones
+    //in table to file. A board in both keeps the deeper entry, the 
+    //table's if they are as deep. Both lists are in key order, so they
+    //are merged straight into the file, a small buffer at a time: only
+    //the table's boards are held on the heap. The file is written next
+    //to file and moved over it, so anyone with it mapped keeps the old
+    //one.
+    public static void write(Path file, SolvedStore old, TTable table) throws IOException
+    {
+        long[] solved;
+        try {
+            solved = table.solvedEntries();
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage());
+        }
+        int fresh = solved.length / 2;
+        
+        //the table's boards in key order (a board in both of its slots
+        //keeps the deeper entry)
+        long[] keys = Arrays.copyOf(solved, fresh);
+        Arrays.sort(keys);
+        int m = 0;
+        for (int i = 0; i < fresh; i++)
+            if (m == 0 || keys[i] != keys[m - 1]) keys[m++] = keys[i];
+        long[] entries = new long[m];
+        for (int i = 0; i < fresh; i++)
+        {
+            int at = Arrays.binarySearch(keys, 0, m, solved[i]);
+            long entry = solved[fresh + i];
+            if (entries[at] == 0 || TTable.depth(entry) >= TTable.depth(entries[at]))
+                entries[at] = entry;
+        }
+        
+        //the entries go after all the keys, so count the boards first
+        long n = merge(old, keys, entries, m, null, null);
+        
+        Path temp = file.resolveSibling(file.getFileName() + "." 
+            + ProcessHandle.current().pid() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            Output header = new Output(channel, 0);
+            header.put(MAGIC);
+            header.put(Og.DIM);
+            header.put(keyCheck());
+            header.put(n);
+            header.flush();
+            
+            Output keyOut = new Output(channel, HEADER * 8L);
+            Output entryOut = new Output(channel, (HEADER + n) * 8);
+            merge(old, keys, entries, m, keyOut, entryOut);
+            keyOut.flush();
+            entryOut.flush();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, 
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    //Merge the boards in old (may be null) with the first m of keys
+    //and entries, writing their keys to keyOut and entries to entryOut
+    //(unless those are null), and return how many there are
+    private static long merge(SolvedStore old, long[] keys, long[] entries, int m,
+            Output keyOut, Output entryOut) throws IOException
+    {
+        long had = (old == null) ? 0 : old.n;
+        long i = 0;
+        int j = 0;
+        long n = 0;
+        while (i < had || j < m)
+        {
+            long oldKey = (i < had) ? old.get(HEADER + i) : 0;
+            long key;
+            long entry;
+            if (j == m || (i < had && oldKey < keys[j]))
+            {
+                key = oldKey;
+                entry = old.get(HEADER + had + i++);
+            }
+            else if (i == had || keys[j] < oldKey)
+            {
+                key = keys[j];
+                entry = entries[j++];
+            }
+            else
+            {
+                long kept = old.get(HEADER + had + i++);
+                key = oldKey;
+                entry = (TTable.depth(entries[j]) >= TTable.depth(kept)) ? entries[j] : kept;
+                j++;
+            }
+            
+            if (keyOut != null)
+            {
+                keyOut.put(key);
+                entryOut.put(entry);
+            }
+            n++;
+        }
+        return n;
+    }
+    
+    //longs written to a channel from a position on, through a buffer
+    private static final class Output
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BYTES);
+        private long position;
+        
+        Output(FileChannel channel, long position)
+        {
+            this.channel = channel;
+            this.position = position;
+        }
+        
+        void put(long value) throws IOException
+        {
+            buffer.putLong(value);
+            if (!buffer.hasRemaining()) flush();
+        }
+        
+        void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                position += channel.write(buffer, position);
+            buffer.clear();
+        }
+    }
+    
+    //boards are only the same if their keys come out the same
+    private static long keyCheck()
+    {
+        return Zobrist.sideKey(Og.PLAYER_2);
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////    TABLEBASE    /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//The value of every 4x4 board, for either player to move: how many
+//spots the player to move ends up with if both sides play perfectly.
+//With it the computer plays a 4x4 game without searching at all.
+//
+//Each spot is empty, X or O, so a board is a number below 3^16 in 
+//base 3. Only boards a game can get to are kept: ones with no empty
+//spot left surrounded (captures are filled straight away). Of the
+//up to 8 boards a rotation or reflection turns a board into, all
+//worth the same, only the canonical one is kept (see canonical). A
+//bitmap marks their numbers and ranks[w] counts the ones marked in
+//the words before word w, so a board's rank among them (a perfect
+//hash into the values) takes one look in each. 
+//values[2 * rank + side] is the board's value, side 1 meaning O is
+//to move. 
+//
+//Folding the symmetries keeps 3.2 million boards of 25.4 million:
+//the file is 14 MB instead of 59 and generate takes 5 s instead of
+//17 (on one core). Lookups pay for it: turning the board 8 ways 
+//makes a lookup of a random board about 145 ns instead of 75.
+//
+//generate solves all of them, the boards with the fewest empty spots
+//first (a move always fills one), each of those rounds split over 
+//the cores. The tables can be written to a file and mapped back in.
+class Tablebase
+{
+    public static final int DIM = 4;
+    private static final int SQUARES = DIM * DIM;
+    private static final int BOARDS = 43046721; //3^16
+    private static final int WORDS = (BOARDS + 63) / 64;
+    
+    private static final long MAGIC = 0x4F67344234544233L; //"Og4B4TB3"
+    private static final int HEADER = 16;
+    
+    //a byte of a bitboard's number in base 3
+    private static final int[] BASE_3 = new int[256];
+    
+    //TURNED[t][b] is where symmetry t (numbered as Bitboard.SYMMETRIES)
+    //sends the spots in the low byte b of a bitboard, TURNED[t][256 + b]
+    //the ones in the high byte b. The tablebase has its own, as 
+    //Bitboard's are for whatever size the board is now.
+    private static final int[][] TURNED = new int[8][512];
+    
+    static
+    {
+        for (int b = 0; b < 256; b++)
+            for (int i = 0; i < 8; i++)
+                if ((b & (1 << i)) != 0)
+                    BASE_3[b] += (int) Math.pow(3, i);
+        
+        int m = DIM - 1;
+        for (int s = 0; s < SQUARES; s++)
+        {
+            int r = s / DIM;
+            int c = s % DIM;
+            int[] to = { s, c * DIM + m - r, (m - r) * DIM + m - c, (m - c) * DIM + r,
+                c * DIM + r, (m - c) * DIM + m - r, r * DIM + m - c, (m - r) * DIM + c };
+            for (int t = 0; t < 8; t++)
+                for (int b = 0; b < 256; b++)
+                    if ((b & (1 << (s & 7))) != 0)
+                        TURNED[t][(s & 8) * 32 + b] |= 1 << to[t];
+        }
+    }
+    
+    private final LongBuffer kept;
+    private final IntBuffer ranks;
+    private final ByteBuffer values;
+    
+    private Tablebase(LongBuffer kept, IntBuffer ranks, ByteBuffer values)
+    {
+        this.kept = kept;
+        this.ranks = ranks;
+        this.values = values;
+    }
+    
+    //moves are played with the Bitboard tables, so they have to be 4x4
+    static void checkSize()
+    {
+        if (Og.DIM != DIM)
+            throw new IllegalArgumentException("The tablebase is only for " 
+                + DIM + "x" + DIM + " boards");
+    }
+    
+    //the board's number in base 3 (an X counts 1, an O 2)
+    private static int number(long p1, long p2)
+    {
+        int x = (int) p1;
+        int o = (int) p2;
+        return BASE_3[x & 0xFF] + 6561 * BASE_3[x >>> 8]
+            + 2 * (BASE_3[o & 0xFF] + 6561 * BASE_3[o >>> 8]);
+    }
+    
+    //could a game get to this board? Not if it has a captured spot
+    //still empty
+    private static boolean reachable(long p1, long p2)
+    {
+        for (long empty = Bitboard.FULL & ~(p1 | p2); empty != 0; empty &= empty - 1)
+        {
+            long around = Bitboard.NEIGHBOURS[Long.numberOfTrailingZeros(empty)];
+            if ((around & ~p1) == 0 || (around & ~p2) == 0) return false;
+        }
+        return true;
+    }
+    
+    //Which of the boards symmetry makes of this one is kept: the one
+    //with the smallest X spots, then O spots, as (X << 16) | O. (Math.min
+    //rather than an if: which one is smallest is anyone's guess, so a
+    //branch on it is mispredicted half the time.)
+    private static long canonical(long p1, long p2)
+    {
+        int xLow = (int) p1 & 0xFF, xHigh = 256 + ((int) p1 >>> 8);
+        int oLow = (int) p2 & 0xFF, oHigh = 256 + ((int) p2 >>> 8);
+        long first = (p1 << 16) | p2;
+        for (int t = 1; t < 8; t++)
+        {
+            int[] turned = TURNED[t];
+            first = Math.min(first, ((long) (turned[xLow] | turned[xHigh]) << 16) 
+                | turned[oLow] | turned[oHigh]);
+        }
+        return first;
+    }
+    
+    //where the board's value is kept, for side 0 (X) or 1 (O) to move
+    private int index(long p1, long p2, int side)
+    {
+        long board = canonical(p1, p2);
+        int n = number(board >>> 16, board & 0xFFFF);
+        int w = n >>> 6;
+        int rank = ranks.get(w) + Long.bitCount(kept.get(w) & ((1L << (n & 63)) - 1));
+        return 2 * rank + side;
+    }
+    
+    //how many spots toMove ends up with from this board
+    public int value(long p1, long p2, char toMove)
+    {
+        return values.get(index(p1, p2, (toMove == Og.PLAYER_1) ? 0 : 1));
+    }
+    
+    //how many spots toMove ends up with after playing move (see
+    //Bitboard.move) on the board
+    public int valueAfter(long p1, long p2, char toMove, int move)
+    {
+        if (toMove == Og.PLAYER_1)
+            return SQUARES - value(Bitboard.play(p1, p2, move), p2, Og.PLAYER_2);
+        return SQUARES - value(p1, Bitboard.play(p2, p1, move), Og.PLAYER_1);
+    }
+    
+    //Best move for toMove on the board (see Bitboard.move; on a free
+    //move if free, so plain spots only): the one leaving the other
+    //player the least, the lowest move of those tied (as the search
+    //picks). -1 on a full board.
+    public int bestMove(long p1, long p2, char toMove, boolean free)
+    {
+        long own = (toMove == Og.PLAYER_1) ? p1 : p2;
+        long other = (toMove == Og.PLAYER_1) ? p2 : p1;
+        
+        int best = -1;
+        int most = -1;
+        for (long empty = Bitboard.FULL & ~(p1 | p2); empty != 0; empty &= empty - 1)
+        {
+            int square = Long.numberOfTrailingZeros(empty);
+            long bonuses = free ? 0 : freeMoves(own, other, square);
+            do
+            {
+                int bonus = (bonuses == 0) ? -1 : Long.numberOfTrailingZeros(bonuses);
+                int move = Bitboard.move(square, bonus);
+                int value = valueAfter(p1, p2, toMove, move);
+                if (value > most || (value == most && move < best))
+                {
+                    most = value;
+                    best = move;
+                }
+                bonuses &= bonuses - 1;
+            }
+            while (bonuses != 0);
+        }
+        return best;
+    }
+    
+    //the spots own could take a free move on after moving on square
+    //(none if it doesn't capture)
+    private static long freeMoves(long own, long other, int square)
+    {
+        long caught = Bitboard.captured(own, other, square);
+        if (caught == 0) return 0;
+        return Bitboard.FULL & ~(own | other | caught | (1L << square));
+    }
+    
+    //Solve every 4x4 board, on threads threads
+    public static Tablebase generate(int threads)
+    {
+        checkSize();
+        
+        //mark the boards kept, and sort them by how many spots are
+        //empty: X's spots are p1, O's a subset of the rest
+        long[] bits = new long[WORDS];
+        int[] empties = new int[SQUARES + 2];
+        for (int p1 = 0; p1 < 1 << SQUARES; p1++)
+        {
+            int rest = ~p1 & 0xFFFF;
+            for (int p2 = rest; ; p2 = (p2 - 1) & rest)
+            {
+                if (canonical(p1, p2) == (((long) p1 << 16) | p2) && reachable(p1, p2))
+                {
+                    int n = number(p1, p2);
+                    bits[n >>> 6] |= 1L << (n & 63);
+                    empties[SQUARES - Integer.bitCount(p1 | p2) + 1]++;
+                }
+                if (p2 == 0) break;
+            }
+        }
+        
+        int[] ranks = new int[WORDS];
+        for (int w = 1; w < WORDS; w++)
+            ranks[w] = ranks[w - 1] + Long.bitCount(bits[w - 1]);
+        int boards = ranks[WORDS - 1] + Long.bitCount(bits[WORDS - 1]);
+        
+        //empties[k] is now where boards with k empty spots start
+        for (int k = 1; k < empties.length; k++)
+            empties[k] += empties[k - 1];
+        int[] order = new int[boards];
+        int[] next = Arrays.copyOf(empties, empties.length);
+        for (int p1 = 0; p1 < 1 << SQUARES; p1++)
+        {
+            int rest = ~p1 & 0xFFFF;
+            for (int p2 = rest; ; p2 = (p2 - 1) & rest)
+            {
+                int n = number(p1, p2);
+                if ((bits[n >>> 6] & (1L << (n & 63))) != 0)
+                    order[next[SQUARES - Integer.bitCount(p1 | p2)]++] = (p1 << 16) | p2;
+                if (p2 == 0) break;
+            }
+        }
+        
+        Tablebase base = new Tablebase(LongBuffer.wrap(bits), IntBuffer.wrap(ranks),
+            ByteBuffer.wrap(new byte[2 * boards]));
+        
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            for (int k = 0; k <= SQUARES; k++)
+            {
+                int from = empties[k];
+                int to = empties[k + 1];
+                int chunk = Math.max(1024, (to - from) / (threads * 8));
+                List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+                for (int start = from; start < to; start += chunk)
+                {
+                    int first = start;
+                    int last = Math.min(to, start + chunk);
+                    tasks.add(Executors.callable(() -> {
+                        for (int i = first; i < last; i++)
+                            base.solve(order[i] >>> 16, order[i] & 0xFFFF);
+                    }));
+                }
+                //each round only needs the ones before it, all done
+                pool.invokeAll(tasks);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return base;
+    }
+    
+    //work out the board's value for both players, from the boards
+    //a move on it leads to (which have fewer empty spots, so are done)
+    private void solve(long p1, long p2)
+    {
+        for (int side = 0; side < 2; side++)
+        {
+            char toMove = (side == 0) ? Og.PLAYER_1 : Og.PLAYER_2;
+            long own = (side == 0) ? p1 : p2;
+            long other = (side == 0) ? p2 : p1;
+            
+            long empty = Bitboard.FULL & ~(p1 | p2);
+            int best = Long.bitCount(own);
+            if (empty != 0)
+            {
+                //the board ends up full, so what the other player 
+                //doesn't get this one does
+                best = 0;
+                for (; empty != 0; empty &= empty - 1)
+                {
+                    int square = Long.numberOfTrailingZeros(empty);
+                    long bonuses = freeMoves(own, other, square);
+                    do
+                    {
+                        int bonus = (bonuses == 0) ? -1 : Long.numberOfTrailingZeros(bonuses);
+                        best = Math.max(best, 
+                            valueAfter(p1, p2, toMove, Bitboard.move(square, bonus)));
+                        bonuses &= bonuses - 1;
+                    }
+                    while (bonuses != 0);
+                }
+            }
+            values.put(index(p1, p2, side), (byte) best);
+        }
+    }
+    
+    //Write the tables to file: a header (MAGIC and how many values),
+    //the bitmap, the ranks and the values
+    public void write(Path file) throws IOException
+    {
+        int size = values.capacity();
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER + WORDS * 12 + size);
+        bytes.putLong(MAGIC).putLong(size);
+        for (int w = 0; w < WORDS; w++) bytes.putLong(kept.get(w));
+        for (int w = 0; w < WORDS; w++) bytes.putInt(ranks.get(w));
+        for (int i = 0; i < size; i++) bytes.put(values.get(i));
+        bytes.flip();
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            while (bytes.hasRemaining()) channel.write(bytes);
+        }
+    }
+    
+    //map the tables written to file
+    public static Tablebase open(Path file) throws IOException
+    {
+        checkSize();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (bytes.capacity() < HEADER || bytes.getLong(0) != MAGIC
+                    || bytes.capacity() != HEADER + WORDS * 12 + bytes.getLong(8))
+                throw new IllegalArgumentException(file + " isn't a 4x4 tablebase");
+            
+            return new Tablebase(
+                slice(bytes, HEADER, WORDS * 8).asLongBuffer(),
+                slice(bytes, HEADER + WORDS * 8, WORDS * 4).asIntBuffer(),
+                slice(bytes, HEADER + WORDS * 12, bytes.capacity() - HEADER - WORDS * 12));
+        }
+    }
+    
+    private static ByteBuffer slice(ByteBuffer bytes, int from, int length)
+    {
+        return bytes.duplicate().position(from).limit(from + length).slice();
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////   TOURNAMENT    /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Computer vs computer games with nobody watching, many at once, to
+//see how strong and how fast the engine is. Two engines play, A 
+//(with the budget set for every player) and B (with its own). Each 
+//game starts with a few random moves so the games aren't all the 
+//same, and every opening is played twice, A playing X in the first
+//game and O in the second, so neither engine gets the better openings.
+//The games run on a fixed pool of workers and at the end the results
+//are printed: who won, how long the games were and how long the
+//moves took.
+class Tournament
+{
+    private final int games;
+    private final int workers;
+    private final int randomPlies;
+    private final long seed;
+    private final long bMillis;
+    private final long bNodes;
+    
+    //Tables for engine A and engine B, a pair for each worker, taken
+    //by a game while it's played. Engines never share a table, and
+    //both are emptied before every game, so no game's result depends
+    //on what another game (or the other engine) searched. They are 
+    //allocated up front, the table size (--tt-mb) split between them.
+    private final BlockingQueue<TTable[]> tables;
+    private final int tableMegabytes;
+    
+    //how one game went: who won (engine 'A' or 'B', or Og.TIE) and
+    //with which pieces, how many moves were played (how many of them
+    //random) and how long the computer took over each of its moves
+    private static class Result
+    {
+        char engine;
+        char winner;
+        int moves;
+        int random;
+        long[] latencies = new long[Bitboard.SQUARES];
+        int searched;
+    }
+    
+    public Tournament(int games, int workers, int randomPlies, long seed, 
+            long bMillis, long bNodes)
+    {
+        this.games = games;
+        this.workers = workers;
+        this.randomPlies = randomPlies;
+        this.seed = seed;
+        this.bMillis = bMillis;
+        this.bNodes = bNodes;
+        
+        //throws IllegalArgumentException if there isn't the memory
+        this.tableMegabytes = Math.max(1, ComputerPlayer.tableMegabytes() / (2 * workers));
+        this.tables = new ArrayBlockingQueue<TTable[]>(workers);
+        for (int w = 0; w < workers; w++)
+            tables.add(new TTable[] { new TTable(tableMegabytes), new TTable(tableMegabytes) });
+    }
+    
+    public void run()
+    {
+        ComputerPlayer.setOutput(ComputerPlayer.QUIET_OUTPUT);
+        Og.println("Playing " + games + " games on a " + Og.DIM + "x" + Og.DIM 
+            + " board, " + randomPlies + " random moves first, " + workers + " at a time");
+        Og.println("Each engine searches with a " + tableMegabytes 
+            + " MB table of its own, emptied before every game");
+        
+        List<Callable<Result>> tasks = new ArrayList<Callable<Result>>();
+        for (int g = 0; g < games; g++)
+        {
+            int game = g;
+            tasks.add(() -> play(game));
+        }
+        
+        long start = System.nanoTime();
+        List<Result> results = new ArrayList<Result>();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            for (Future<Result> f : pool.invokeAll(tasks))
+                results.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        report(results, System.nanoTime() - start);
+    }
+    
+    //Game g: the opening of pair g / 2, A playing X in the first of 
+    //the pair and O in the second
+    private Result play(int g) throws InterruptedException
+    {
+        TTable[] t = tables.take();
+        try {
+            return play(g, t);
+        } finally {
+            tables.add(t);
+        }
+    }
+    
+    private Result play(int g, TTable[] t)
+    {
+        boolean aIsX = (g % 2 == 0);
+        ComputerPlayer x = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+        ComputerPlayer o = new ComputerPlayer(Og.PLAYER_2, Og.PLAYER_1);
+        (aIsX ? o : x).limit(bMillis, bNodes);
+        for (TTable table : t)
+            table.clear();
+        (aIsX ? x : o).useTable(t[0]);
+        (aIsX ? o : x).useTable(t[1]);
+        
+        //both games of a pair make the same random moves
+        Random random = new Random(seed * 1000003 + g / 2);
+        Result result = new Result();
+        Game game = new Game(new Entrant(x, random, result), new Entrant(o, random, result));
+        while (!game.over())
+            game.step();
+        
+        result.moves = game.moves();
+        result.winner = game.winner();
+        if (result.winner == Og.TIE) result.engine = Og.TIE;
+        else result.engine = ((result.winner == Og.PLAYER_1) == aIsX) ? 'A' : 'B';
+        return result;
+    }
+    
+    //A computer player in the tournament: the first randomPlies moves
+    //of the game (its own and the other side's, counted in result) 
+    //are random empty spots, after that it's p's move, timed
+    private class Entrant extends Player
+    {
+        private final ComputerPlayer p;
+        private final Random random;
+        private final Result result;
+        
+        Entrant(ComputerPlayer p, Random random, Result result)
+        {
+            this.p = p;
+            this.random = random;
+            this.result = result;
+        }
+        
+        public Point move(char[][] board, boolean freeMove)
+        {
+            if (result.random < randomPlies)
+            {
+                result.random++;
+                List<Point> empty = new ArrayList<Point>();
+                for (int i = 0; i < Og.DIM; i++)
+                    for (int j = 0; j < Og.DIM; j++)
+                        if (board[i][j] == Og.NO_WINNER) empty.add(new Point(i, j));
+                return empty.get(random.nextInt(empty.size()));
+            }
+            
+            long start = System.nanoTime();
+            Point move = p.move(board, freeMove);
+            result.latencies[result.searched++] = System.nanoTime() - start;
+            return move;
+        }
+    }
+    
+    private void report(List<Result> results, long nanos)
+    {
+        int n = results.size();
+        int[] engines = new int[3];
+        int[] colours = new int[3];
+        int[] lengths = new int[Bitboard.SQUARES + 1];
+        long[] latencies = new long[n * Bitboard.SQUARES];
+        int moves = 0;
+        int searched = 0;
+        for (Result r : results)
+        {
+            engines[(r.engine == 'A') ? 0 : (r.engine == 'B') ? 1 : 2]++;
+            colours[(r.winner == Og.PLAYER_1) ? 0 : (r.winner == Og.PLAYER_2) ? 1 : 2]++;
+            lengths[r.moves]++;
+            moves += r.moves;
+            System.arraycopy(r.latencies, 0, latencies, searched, r.searched);
+            searched += r.searched;
+        }
+        
+        Og.println(String.format(
+            "A (%s) won %d (%.1f%%), B (%s) won %d (%.1f%%), tied %d (%.1f%%)",
+            budget(ComputerPlayer.budgetMillis(), ComputerPlayer.budgetNodes()), 
+            engines[0], percent(engines[0], n), budget(bMillis, bNodes), 
+            engines[1], percent(engines[1], n), engines[2], percent(engines[2], n)));
+        Og.println(String.format("X won %d (%.1f%%), O won %d (%.1f%%)",
+            colours[0], percent(colours[0], n), colours[1], percent(colours[1], n)));
+        
+        StringBuilder s = new StringBuilder("Moves per game (mean " 
+            + String.format("%.1f", (double) moves / n) + "):");
+        for (int i = 0; i < lengths.length; i++)
+            if (lengths[i] > 0) s.append("  " + i + ": " + lengths[i]);
+        Og.println(s.toString());
+        
+        latencies = Arrays.copyOf(latencies, searched);
+        Arrays.sort(latencies);
+        Og.println(String.format("Time per move over %d moves: p50 %.2f ms, p90 %.2f ms, "
+            + "p99 %.2f ms, max %.2f ms", searched, percentile(latencies, 50), 
+            percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 100)));
+        Og.println(String.format("Played in %.1f s (%.1f games a second)", 
+            nanos / 1e9, n / (nanos / 1e9)));
+    }
+    
+    private static String budget(long millis, long nodes)
+    {
+        if (millis <= 0 && nodes <= 0) return "searching to the end";
+        if (nodes <= 0) return millis + " ms a move";
+        if (millis <= 0) return nodes + " nodes a move";
+        return millis + " ms or " + nodes + " nodes a move";
+    }
+    
+    private static double percent(int count, int of)
+    {
+        return 100.0 * count / of;
+    }
+    
+    //the p-th percentile of the sorted nanos, in milliseconds
+    private static double percentile(long[] nanos, int p)
+    {
+        if (nanos.length == 0) return 0;
+        int i = (int) Math.ceil(p / 100.0 * nanos.length) - 1;
+        return nanos[Math.max(0, i)] / 1e6;
+    }
+}
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+//////////////////////////////////////    ANALYSIS     /////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+////////////////////////////////////////////////////////////////////////////////////////////////
+
+//Solve a stream of positions without anyone at the keyboard. Each
+//line of input is a board, its rows one after the other (X, O and
+//_ or . for an empty spot; /s between rows are allowed), then who is
+//to move (X if left out):
+//
+//    X_X_/__O_/OX_O/__X_ O
+//
+//and comes back out with the best move (row,col), its value (the 
+//spots the player to move ends up with) and how many boards the
+//search looked at:
+//
+//    X_X_/__O_/OX_O/__X_ O 1,0 8 5321
+//
+//Blank lines and lines starting with # are copied as they are. The
+//positions are solved on a pool of workers sharing the computer's 
+//transposition table, so positions that overlap are only solved 
+//once, but the answers come out in the order the positions came in.
+//Only a few positions per worker are read ahead, so any amount of 
+//input can go through in a fixed amount of memory.
+class Analysis
+{
+    private final int workers;
+    
+    //each worker's computer players (for X and for O to move). They
+    //leave the table's generation alone: run starts a new one every
+    //batch of positions, so workers don't age each other's entries
+    //out one position at a time.
+    private final ThreadLocal<ComputerPlayer[]> players = ThreadLocal.withInitial(() ->
+        new ComputerPlayer[] { new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2).ageTable(false),
+            new ComputerPlayer(Og.PLAYER_2, Og.PLAYER_1).ageTable(false) });
+    
+    public Analysis(int workers)
+    {
+        this.workers = workers;
+    }
+    
+    //answer every line of in on out
+    public void run(BufferedReader in, PrintStream out) throws IOException
+    {
+        int ahead = workers * 4;
+        int read = 0;
+        ArrayDeque<Future<String>> pending = new ArrayDeque<Future<String>>();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            String line;
+            while ((line = in.readLine()) != null)
+            {
+                if (read++ % ahead == 0) ComputerPlayer.newTableGeneration();
+                String position = line;
+                pending.add(pool.submit(() -> analyse(position)));
+                if (pending.size() >= ahead)
+                    out.println(pending.poll().get());
+            }
+            while (!pending.isEmpty())
+                out.println(pending.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analysis failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            out.flush();
+        }
+    }
+    
+    //the line with the answer for its position added
+    private String analyse(String line)
+    {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) return line;
+        
+        String[] fields = trimmed.split("\\s+");
+        String spots = fields[0].replace("/", "");
+        char toMove = (fields.length > 1) ? fields[1].charAt(0) : Og.PLAYER_1;
+        if (spots.length() != Og.DIM * Og.DIM)
+            return trimmed + " error: not a " + Og.DIM + "x" + Og.DIM + " board";
+        if (toMove != Og.PLAYER_1 && toMove != Og.PLAYER_2)
+            return trimmed + " error: " + toMove + " isn't a player";
+        
+        char[][] board = new char[Og.DIM][Og.DIM];
+        for (int i = 0; i < spots.length(); i++)
+        {
+            char c = spots.charAt(i);
+            if (c == '.') c = Og.NO_WINNER;
+            if (c != Og.PLAYER_1 && c != Og.PLAYER_2 && c != Og.NO_WINNER)
+                return trimmed + " error: " + c + " isn't a spot";
+            board[i / Og.DIM][i % Og.DIM] = c;
+        }
+        if (Og.terminalTest(board))
+            return trimmed + " - " + Og.evalWinner(board, toMove) + " 0";
+        
+        ComputerPlayer p = players.get()[(toMove == Og.PLAYER_1) ? 0 : 1];
+        int move = p.decide(board, true);
+        return trimmed + " " + Bitboard.toString(move) + " " + p.lastValue() 
+            + " " + p.lastSearch().nodes();
+    }
+}
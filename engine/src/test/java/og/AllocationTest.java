@@ -0,0 +1,42 @@
+package og;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+//The search plays and takes back moves on one board with buffers
+//allocated up front, so it should allocate nothing per node. Search
+//an empty board twice on one thread, from an empty table each time,
+//and count the bytes the second search allocated (the first warms up
+//the JIT and grows the buffers); anything beyond a small constant 
+//means something in the search allocates.
+public class AllocationTest
+{
+    private static final long ALLOWANCE = 4096;
+    
+    @Test
+    public void searchAllocatesNothingPerNode()
+    {
+        com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Og.setSize(4);
+        ComputerPlayer.setThreads(1);
+        ComputerPlayer.setOutput(ComputerPlayer.QUIET_OUTPUT);
+        char[][] board = Game.emptyBoard();
+        
+        ComputerPlayer c = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+        ComputerPlayer.setTableSize(TTable.DEFAULT_MB);
+        c.decide(board, true);
+        ComputerPlayer.setTableSize(TTable.DEFAULT_MB);
+        
+        long thread = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(thread);
+        c.decide(board, true);
+        long allocated = bean.getThreadAllocatedBytes(thread) - before;
+        
+        assertTrue(allocated <= ALLOWANCE, "Allocated " + allocated + " bytes searching "
+            + c.lastSearch().nodes() + " nodes, more than the " + ALLOWANCE + " allowed");
+    }
+}
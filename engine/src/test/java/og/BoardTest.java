@@ -0,0 +1,115 @@
+package og;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+//NarrowBoard and WideBoard play the same rules two ways (one long per
+//player, or a spot at a time over two), so on boards both can hold
+//they have to agree on everything: random games, free moves and
+//taking moves back included.
+public class BoardTest
+{
+    private static final int GAMES = 300;
+    
+    @AfterAll
+    public static void tearDown()
+    {
+        Og.setSize(4);
+    }
+    
+    @Test
+    public void wideBoardPlaysLikeNarrowBoard()
+    {
+        for (int dim = 2; dim <= 8; dim++)
+        {
+            Og.setSize(dim);
+            Random r = new Random(dim);
+            for (int g = 0; g < GAMES; g++)
+                playBoth(r, dim + "x" + dim + " game " + g);
+        }
+    }
+    
+    private static void playBoth(Random r, String game)
+    {
+        SearchBoard n = new NarrowBoard(Bitboard.SQUARES + 1);
+        SearchBoard w = new WideBoard(Bitboard.SQUARES + 1);
+        char[][] empty = new char[Og.DIM][Og.DIM];
+        for (char[] row : empty)
+            Arrays.fill(row, Og.NO_WINNER);
+        n.set(empty);
+        w.set(empty);
+        
+        char p = Og.PLAYER_1;
+        while (!n.terminalTest())
+        {
+            for (int s = 0; s < Bitboard.SQUARES; s++)
+            {
+                assertEquals(n.nextEmpty(s), w.nextEmpty(s), game);
+                for (char q : new char[] { Og.PLAYER_1, Og.PLAYER_2 })
+                {
+                    assertEquals(n.neighbours(s, q), w.neighbours(s, q), game);
+                    if (n.nextEmpty(s) == s)
+                        assertEquals(n.captures(s, q), w.captures(s, q), game);
+                }
+            }
+            
+            int move = randomMove(n, p, r);
+            n.make(move, p);
+            w.make(move, p);
+            assertSame(n, w, game);
+            
+            //now and then take it back and play it again
+            if (r.nextInt(4) == 0)
+            {
+                n.unmake();
+                w.unmake();
+                n.make(move, p);
+                w.make(move, p);
+            }
+            p = (p == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+        }
+        
+        SearchBoard copy = new WideBoard(Bitboard.SQUARES + 1);
+        copy.set(w);
+        assertSame(w, copy, game);
+        while (n.ply > 0)
+        {
+            n.unmake();
+            w.unmake();
+            assertSame(n, w, game);
+        }
+    }
+    
+    //a random empty spot for p, with a random free move if it captures
+    private static int randomMove(SearchBoard b, char p, Random r)
+    {
+        int square = nth(b, r.nextInt(b.empties()));
+        if (!b.captures(square, p)) return square;
+        
+        b.make(square, p);
+        int bonus = (b.empties() == 0) ? -1 : nth(b, r.nextInt(b.empties()));
+        b.unmake();
+        return Bitboard.move(square, bonus);
+    }
+    
+    private static int nth(SearchBoard b, int k)
+    {
+        int s = b.nextEmpty(0);
+        for (int i = 0; i < k; i++)
+            s = b.nextEmpty(s + 1);
+        return s;
+    }
+    
+    private static void assertSame(SearchBoard a, SearchBoard b, String game)
+    {
+        assertEquals(a.hash, b.hash, game);
+        assertEquals(a.empties(), b.empties(), game);
+        assertEquals(a.count(Og.PLAYER_1), b.count(Og.PLAYER_1), game);
+        assertEquals(a.count(Og.PLAYER_2), b.count(Og.PLAYER_2), game);
+    }
+}
@@ -0,0 +1,86 @@
+package og;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+//A search with a budget has to stop close to it. The budget is
+//checked every few hundred nodes the search visits (leaves too), so
+//it may go over by about that many, never by a share of the tree.
+//The first move of a run has to keep to it too, with nothing loaded
+//yet: that is timed in a JVM of its own (see main).
+public class BudgetTest
+{
+    private static final long NODES = 2000;
+    private static final long SLACK = 512;
+    private static final long MILLIS = 20;
+    private static final long FIRST_MOVE_SLACK = 200;
+
+    @AfterEach
+    public void tearDown()
+    {
+        ComputerPlayer.setBudget(0, 0);
+        Og.setSize(4);
+    }
+
+    @Test
+    public void nodeBudgetIsKept()
+    {
+        Og.setSize(6);
+        ComputerPlayer.setThreads(1);
+        ComputerPlayer.setOutput(ComputerPlayer.QUIET_OUTPUT);
+        ComputerPlayer.setBudget(0, NODES);
+        ComputerPlayer c = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+        char[][] board = Game.emptyBoard();
+
+        for (int move = 0; move < 4; move++)
+        {
+            c.decide(board, true);
+            long nodes = c.lastSearch().nodes();
+            assertTrue(nodes <= NODES + SLACK, "Searched " + nodes + " nodes on a budget of "
+                + NODES);
+        }
+    }
+    
+    @Test
+    public void firstMoveIsOnTime() throws IOException, InterruptedException
+    {
+        String java = System.getProperty("java.home") + File.separator + "bin" 
+            + File.separator + "java";
+        Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), 
+            BudgetTest.class.getName()).redirectErrorStream(true).start();
+        String line;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream())))
+        {
+            line = in.readLine();
+        }
+        assertEquals(0, p.waitFor(), line);
+        
+        long millis = Long.parseLong(line.trim());
+        assertTrue(millis <= MILLIS + FIRST_MOVE_SLACK, "The first " + MILLIS 
+            + " ms move took " + millis + " ms");
+    }
+    
+    //the first move searched on a 9x9 board with a budget of MILLIS
+    //ms, and how long it took in ms
+    public static void main(String[] args)
+    {
+        Og.setSize(9);
+        ComputerPlayer.setThreads(1);
+        ComputerPlayer.setOutput(ComputerPlayer.QUIET_OUTPUT);
+        ComputerPlayer.setBudget(MILLIS, 0);
+        ComputerPlayer c = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+        char[][] board = Game.emptyBoard();
+        
+        long start = System.nanoTime();
+        c.decide(board, true);
+        System.out.println((System.nanoTime() - start) / 1000000);
+    }
+}
@@ -0,0 +1,163 @@
+package og;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+//Every search against a brute force solver on random 4x4 boards, few
+//enough spots empty to solve them outright. The brute force makes
+//every move there is (each free move after a capture included) with
+//no table, ordering or symmetry, so it is as plain as the rules are.
+public class SearchTest
+{
+    private static final int BOARDS = 150;
+    
+    @BeforeEach
+    public void setUp()
+    {
+        Og.setSize(4);
+        ComputerPlayer.setThreads(1);
+        ComputerPlayer.setBudget(0, 0);
+        ComputerPlayer.setOutput(ComputerPlayer.QUIET_OUTPUT);
+    }
+    
+    //how many spots me ends up with from b, toMove to play, both
+    //playing their best
+    static int brute(SearchBoard b, char me, char toMove)
+    {
+        if (b.terminalTest()) return b.count(me);
+        
+        char other = (toMove == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+        int best = (toMove == me) ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int s = b.nextEmpty(0); s >= 0; s = b.nextEmpty(s + 1))
+        {
+            boolean captures = b.captures(s, toMove);
+            b.make(s, toMove);
+            if (!captures || b.terminalTest())
+                best = better(best, brute(b, me, other), toMove == me);
+            else
+            {
+                //the free move, on any spot left
+                for (int q = b.nextEmpty(0); q >= 0; q = b.nextEmpty(q + 1))
+                {
+                    b.make(q, toMove);
+                    best = better(best, brute(b, me, other), toMove == me);
+                    b.unmake();
+                }
+            }
+            b.unmake();
+        }
+        return best;
+    }
+    
+    private static int better(int best, int v, boolean max)
+    {
+        return max ? Math.max(best, v) : Math.min(best, v);
+    }
+    
+    //a random board with 1 to 9 spots empty
+    static char[][] randomBoard(Random r)
+    {
+        while (true)
+        {
+            char[][] c = new char[4][4];
+            int empty = 0;
+            for (int s = 0; s < 16; s++)
+            {
+                int v = r.nextInt(3);
+                c[s / 4][s % 4] = (v == 1) ? Og.PLAYER_1 : (v == 2) ? Og.PLAYER_2 : Og.NO_WINNER;
+                if (v == 0) empty++;
+            }
+            if (empty > 0 && empty <= 9) return c;
+        }
+    }
+    
+    @Test
+    public void minMaxMatchesBruteForce()
+    {
+        Random r = new Random(1);
+        ComputerPlayer x = new ComputerPlayer(Og.PLAYER_1, Og.PLAYER_2);
+        ComputerPlayer o = new ComputerPlayer(Og.PLAYER_2, Og.PLAYER_1);
+        for (int k = 0; k < BOARDS; k++)
+        {
+            SearchBoard b = SearchBoard.create();
+            b.set(randomBoard(r));
+            int forX = brute(b, Og.PLAYER_1, Og.PLAYER_1);
+            int forO = brute(b, Og.PLAYER_2, Og.PLAYER_1);
+            assertEquals(forX, x.maxValue(b, 16), "minimax, board " + k);
+            assertEquals(forX, x.maxValue(b, 16, -16, 16), "alpha-beta, board " + k);
+            assertEquals(forO, o.minValue(b, 16, -16, 16), "alpha-beta for O, board " + k);
+        }
+    }
+    
+    //each algorithm's value for the board, and the move it picks 
+    //being worth that value
+    @Test
+    public void everyAlgorithmMatchesBruteForce()
+    {
+        Random r = new Random(2);
+        for (int k = 0; k < BOARDS; k++)
+        {
+            char[][] board = randomBoard(r);
+            char me = (k % 2 == 0) ? Og.PLAYER_1 : Og.PLAYER_2;
+            char other = (me == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+            SearchBoard b = SearchBoard.create();
+            b.set(board);
+            int expected = brute(b, me, me);
+            
+            for (String algorithm : ComputerPlayer.ALGORITHMS)
+            {
+                ComputerPlayer.setAlgorithm(algorithm);
+                ComputerPlayer.setTableSize(1);
+                ComputerPlayer p = new ComputerPlayer(me, other);
+                int move = p.decide(board, true);
+                assertEquals(expected, p.lastValue(), algorithm + " value, board " + k);
+                
+                b.set(board);
+                b.make(move, me);
+                assertEquals(expected, brute(b, me, other), algorithm + " move, board " + k);
+            }
+        }
+        ComputerPlayer.setAlgorithm("alphabeta");
+    }
+    
+    //the same for the searches that run in parallel, on 2 threads 
+    //split at the root and inside the tree
+    @Test
+    public void parallelSearchesMatchBruteForce()
+    {
+        Random r = new Random(3);
+        for (int k = 0; k < BOARDS; k++)
+        {
+            char[][] board = randomBoard(r);
+            char me = (k % 2 == 0) ? Og.PLAYER_1 : Og.PLAYER_2;
+            char other = (me == Og.PLAYER_1) ? Og.PLAYER_2 : Og.PLAYER_1;
+            SearchBoard b = SearchBoard.create();
+            b.set(board);
+            int expected = brute(b, me, me);
+            
+            for (String algorithm : new String[] { "alphabeta", "pvs" })
+                for (boolean ybw : new boolean[] { false, true })
+                {
+                    ComputerPlayer.setAlgorithm(algorithm);
+                    ComputerPlayer.setThreads(2);
+                    ComputerPlayer.setYoungBrothersWait(ybw);
+                    ComputerPlayer.setTableSize(1);
+                    ComputerPlayer p = new ComputerPlayer(me, other);
+                    int move = p.decide(board, true);
+                    String name = algorithm + (ybw ? " ybw" : " root split");
+                    assertEquals(expected, p.lastValue(), name + " value, board " + k);
+                    
+                    b.set(board);
+                    b.make(move, me);
+                    assertEquals(expected, brute(b, me, other), name + " move, board " + k);
+                }
+        }
+        ComputerPlayer.setAlgorithm("alphabeta");
+        ComputerPlayer.setYoungBrothersWait(false);
+        ComputerPlayer.setThreads(1);
+    }
+}
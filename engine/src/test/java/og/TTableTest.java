@@ -0,0 +1,78 @@
+package og;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+//The transposition table: what goes in comes out, and threads
+//sharing it can't tear an entry.
+public class TTableTest
+{
+    @BeforeEach
+    public void setUp()
+    {
+        Og.setSize(4);
+    }
+    
+    @Test
+    public void probeFindsWhatWasStored()
+    {
+        TTable t = new TTable(1);
+        long hash = 0x123456789ABCDEFL;
+        assertEquals(TTable.MISSING, t.probe(hash, Og.PLAYER_1));
+        
+        t.store(hash, 0, Og.PLAYER_1, 9, 5, TTable.LOWER, 7);
+        long entry = t.probe(hash, Og.PLAYER_1);
+        assertEquals(9, TTable.value(entry));
+        assertEquals(5, TTable.depth(entry));
+        assertEquals(TTable.LOWER, TTable.flag(entry));
+        assertEquals(7, TTable.moveFor(0, entry));
+        assertEquals(TTable.MISSING, t.probe(hash, Og.PLAYER_2));
+    }
+    
+    //Threads hammering a small table at once, with no locks: every
+    //entry a probe finds has to be the one stored for its key (each 
+    //key's value and depth are worked out from the key), never a mix
+    //of two stores.
+    @Test
+    public void concurrentStoresNeverMixUpEntries() throws InterruptedException
+    {
+        TTable t = new TTable(1);
+        AtomicLong hits = new AtomicLong();
+        AtomicLong wrong = new AtomicLong();
+        Thread[] threads = new Thread[4];
+        for (int k = 0; k < threads.length; k++)
+        {
+            Random r = new Random(k);
+            threads[k] = new Thread(() -> {
+                for (int i = 0; i < 2000000; i++)
+                {
+                    long hash = r.nextInt(1 << 18) * 0x9E3779B97F4A7C15L;
+                    int value = (int) (hash >>> 20) & 0x7F;
+                    int depth = (int) (hash >>> 30) & 0x3F;
+                    if (r.nextBoolean())
+                    {
+                        t.store(hash, 0, Og.PLAYER_1, value, depth, TTable.EXACT, 3);
+                        continue;
+                    }
+                    long entry = t.probe(hash, Og.PLAYER_1);
+                    if (entry == TTable.MISSING) continue;
+                    hits.incrementAndGet();
+                    if (TTable.value(entry) != value || TTable.depth(entry) != depth)
+                        wrong.incrementAndGet();
+                }
+            });
+            threads[k].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        
+        assertTrue(hits.get() > 0);
+        assertEquals(0, wrong.get(), "entries from another key out of " + hits.get() + " hits");
+    }
+}